@@ -0,0 +1,138 @@
+package benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import main_components.ChessBoard;
+import main_components.ChessPiece;
+import main_components.Command;
+import piece_properties.Color;
+import piece_properties.MoveList;
+
+/**
+ * \brief
+ * Per-operation latency of the engine hot paths, over every corpus position in both board modes. \n
+ * Every benchmark leaves the ChessBoard as it found it, so one setup serves a whole trial.
+ * Run main() to get the GC profiler's allocation rate next to each latency.
+ * @author Rodney Shaghoulian
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class EngineBenchmark {
+	/* Parameters */
+	@Param({"opening", "middlegame", "endgame"})
+	public String position;		///< Corpus position, see Positions
+	@Param({"true", "false"})
+	public boolean classicMode;	///< Board mode
+
+	/* Data */
+	private ChessBoard board;			///< Position being measured
+	private ChessPiece[] sideToMove;	///< ChessPieces of the player to move
+	private java.awt.Point origin;		///< Where the move of executeUndo() starts
+	private java.awt.Point destination;	///< Where the move of executeUndo() ends
+	private MoveList list;				///< Reused by legalMoves()
+
+	/**
+	 * Sets up the position, and picks the first legal move for executeUndo()
+	 */
+	@Setup(Level.Trial)
+	public void setUp(){
+		board = Positions.board(Positions.named(position), classicMode);
+		sideToMove = new ChessPiece[Long.bitCount(board.colorBitboard(board.playerTurn))];
+		int count = 0;
+		for (long pieces = board.colorBitboard(board.playerTurn); pieces != 0; pieces &= pieces - 1)
+			sideToMove[count++] = board.getPiece(Long.numberOfTrailingZeros(pieces));
+		list = new MoveList();
+		board.generateLegalMoves(list);
+		int move = list.get(0);
+		origin 		= ChessBoard.point(MoveList.from(move));
+		destination = ChessBoard.point(MoveList.to(move));
+	}
+
+	/** ChessBoard copy constructor */
+	@Benchmark
+	public ChessBoard copyConstructor(){
+		return new ChessBoard(board);
+	}
+
+	/** updateChessBoard() with every attack tile stale, as after loading a position. Ends on the same player's turn. */
+	@Benchmark
+	public void updateChessBoard(){
+		board.updateBitboards();
+		board.updateChessBoard();
+		board.updateTurn();
+	}
+
+	/** Moves.setAttackTiles() for every ChessPiece of the player to move */
+	@Benchmark
+	public void setAttackTiles(){
+		for (ChessPiece piece : sideToMove)
+			piece.moves.setAttackTiles(board, piece);
+	}
+
+	/** Moves.setValidTiles() for every ChessPiece of the player to move */
+	@Benchmark
+	public void setValidTiles(){
+		for (ChessPiece piece : sideToMove)
+			piece.moves.setValidTiles(board, piece);
+	}
+
+	/** Command.execute() then Command.undo(), without a View */
+	@Benchmark
+	public void executeUndo(){
+		Command command = new Command(board, origin, destination);
+		command.execute();
+		command.undo();
+	}
+
+	/** Check detection for both KINGS */
+	@Benchmark
+	public void checkDetection(Blackhole blackhole){
+		board.updateInCheck();
+		blackhole.consume(board.whiteInCheck);
+		blackhole.consume(board.isSquareAttacked(ChessBoard.square(board.blackKing.position), Color.WHITE));
+	}
+
+	/** Every legal move of the player to move, into a reused MoveList */
+	@Benchmark
+	public int legalMoves(){
+		list.clear();
+		board.generateLegalMoves(list);
+		return list.size;
+	}
+
+	/**
+	 * Runs every benchmark with the GC profiler, which reports allocation rate and bytes allocated per operation
+	 * @param args	Unused
+	 * @throws RunnerException	if JMH fails
+	 */
+	public static void main(String[] args) throws RunnerException {
+		Options options = new OptionsBuilder()
+				.include(EngineBenchmark.class.getSimpleName())
+				.addProfiler(GCProfiler.class)
+				.build();
+		new Runner(options).run();
+	}
+}
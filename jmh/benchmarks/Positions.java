@@ -0,0 +1,101 @@
+/** \brief JMH benchmarks for the engine hot paths. Kept out of src so the game builds without JMH. */
+package benchmarks;
+
+import java.awt.Point;
+
+import main_components.ChessBoard;
+import main_components.ChessPiece;
+import piece_properties.Color;
+import piece_properties.Type;
+
+/**
+ * \brief
+ * A small corpus of opening, middlegame and endgame positions, in classic and custom mode. \n
+ * Positions are written like the first field of a FEN string, from row 7 down to row 0. Upper case is WHITE.
+ * Besides K, Q, R, B, N, P, the letters H, C, S and D are HORIZON, CENTAUR, SHAPESHIFTER and DECOY.
+ * @author Rodney Shaghoulian
+ */
+public final class Positions {
+	/* Corpus */
+	public static final String OPENING    = "rnbqkbnr/pppppppp/8/8/8/8/PPPPPPPP/RNBQKBNR";		///< Starting position
+	public static final String MIDDLEGAME = "r1bq1rk1/pp2bppp/2n1pn2/3p4/2PP4/2N1PN2/PP2BPPP/R2QKB1R";	///< Queen's Gambit structure
+	public static final String ENDGAME    = "8/5k2/3p2p1/1p1P1p2/1P3P2/2R1K3/6r1/8";		///< ROOK and PAWNS each
+
+	/** Private Constructor: only static helpers */
+	private Positions(){
+	}
+
+	/**
+	 * Names a corpus position, for the @Param of a benchmark
+	 * @param name		"opening", "middlegame", or "endgame"
+	 * @return			The position string
+	 */
+	public static String named(String name){
+		if (name.equals("opening"))
+			return OPENING;
+		if (name.equals("middlegame"))
+			return MIDDLEGAME;
+		return ENDGAME;
+	}
+
+	/**
+	 * Sets up a ChessBoard, with WHITE to move and every attack and valid tile up to date
+	 * @param placement		Position string
+	 * @param classicMode	false turns every ROOK into a HORIZON and every KNIGHT into a CENTAUR, like a custom game
+	 * @return				The ChessBoard
+	 */
+	public static ChessBoard board(String placement, boolean classicMode){
+		ChessBoard board = new ChessBoard(8, 8, classicMode);
+		board.tile = new ChessPiece[8][8];
+		board.playerTurn = Color.WHITE;
+		String[] rows = placement.split("/");
+		for (int i = 0; i < 8; i++){
+			int row = 7 - i;
+			int column = 0;
+			for (char letter : rows[i].toCharArray()){
+				if (Character.isDigit(letter)){
+					column += letter - '0';
+					continue;
+				}
+				Color color = Character.isUpperCase(letter) ? Color.WHITE : Color.BLACK;
+				Type type = type(Character.toUpperCase(letter), classicMode);
+				ChessPiece piece = new ChessPiece(type, color, new Point(column, row));
+				board.tile[row][column] = piece;
+				if (type == Type.KING){
+					if (color == Color.WHITE)
+						board.whiteKing = piece;
+					else
+						board.blackKing = piece;
+				}
+				column++;
+			}
+		}
+		board.updateBitboards();
+		board.updateAttackTiles();
+		board.updateInCheck();
+		board.updateValidTiles();
+		return board;
+	}
+
+	/**
+	 * Private Helper function to read a piece letter
+	 * @param letter		Upper case piece letter
+	 * @param classicMode	false for custom mode
+	 * @return				The Type
+	 */
+	private static Type type(char letter, boolean classicMode){
+		switch (letter){
+			case 'K': return Type.KING;
+			case 'Q': return Type.QUEEN;
+			case 'R': return classicMode ? Type.ROOK : Type.HORIZON;
+			case 'B': return Type.BISHOP;
+			case 'N': return classicMode ? Type.KNIGHT : Type.CENTAUR;
+			case 'P': return Type.PAWN;
+			case 'H': return Type.HORIZON;
+			case 'C': return Type.CENTAUR;
+			case 'S': return Type.SHAPESHIFTER;
+			case 'D': return Type.DECOY;
+			default:  throw new IllegalArgumentException("Unknown piece letter: " + letter);
+		}
+	}
+}
@@ -0,0 +1,114 @@
+package analysis;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import main_components.ChessBoard;
+
+/**
+ * \brief
+ * Best-move search on many threads, in the "Lazy SMP" style. \n
+ * Every thread runs its own Search on its own copy of the ChessBoard, with its own history table.
+ * They share one TranspositionTable, so each thread finds the others' results and skips work they have done.
+ * Half of the helper threads search 1 ply deeper each iteration, so the threads don't all search the same tree in step. \n
+ * The calling thread is the main thread. When it finishes, the helpers are stopped, and the deepest result wins.
+ * @author Rodney Shaghoulian
+ */
+public class LazySmp {
+	/* Data */
+	private final int threads;					///< Number of threads, including the calling thread
+	private final TranspositionTable table;		///< Shared by every thread
+	private final ExecutorService helpers;		///< Runs the helper threads. null for 1 thread.
+
+	/**
+	 * Constructor
+	 * @param threads	Number of threads, including the calling thread
+	 * @param table		TranspositionTable shared by every thread
+	 */
+	public LazySmp(int threads, TranspositionTable table){
+		this.threads = Math.max(1, threads);
+		this.table 	 = table;
+		this.helpers = (this.threads > 1) ? Executors.newFixedThreadPool(this.threads - 1) : null;
+	}
+
+	/**
+	 * Searches for the best move. The given ChessBoard is only read.
+	 * @param board			ChessBoard to search, from the player whose turn it is
+	 * @param maxDepth		Number of iterations of the main thread
+	 * @param nodeLimit		Most positions for the main thread to search. Long.MAX_VALUE for no limit.
+	 * @param millis		Most milliseconds to search. Long.MAX_VALUE for no limit.
+	 * @return				Deepest finished result of any thread. Its node count is the total of every thread.
+	 */
+	public Search.Result search(ChessBoard board, final int maxDepth, long nodeLimit, final long millis){
+		/* Start helpers, each on its own copy of the ChessBoard. The shared table is aged once, here, not once per thread. */
+		table.newSearch();
+		final Search[] searches = new Search[threads];
+		for (int i = 0; i < threads; i++){
+			searches[i] = new Search(new ChessBoard(board), table);
+			searches[i].depthOffset = i & 1;
+			searches[i].agesTable 	= false;
+		}
+		List<Future<Search.Result>> futures = new ArrayList<>();
+		for (int i = 1; i < threads; i++){
+			final Search search = searches[i];
+			futures.add(helpers.submit(() -> search.search(Search.MAX_PLY, Long.MAX_VALUE, millis)));
+		}
+
+		/* Search on this thread, then stop the helpers */
+		Search.Result best = searches[0].search(maxDepth, nodeLimit, millis);
+		long nodes = best.nodes;
+		for (int i = 1; i < threads; i++)
+			searches[i].stop();
+		for (Future<Search.Result> future : futures){
+			Search.Result result;
+			try {
+				result = future.get();
+			} catch (Exception e) {
+				throw new IllegalStateException("Helper search failed", e);
+			}
+			nodes += result.nodes;
+			if (result.depth > best.depth && result.move >= 0)
+				best = result;
+		}
+		best.nodes = nodes;
+		return best;
+	}
+
+	/**
+	 * Stops the helper threads once they are idle
+	 */
+	public void shutdown(){
+		if (helpers != null)
+			helpers.shutdown();
+	}
+
+	/**
+	 * Prints a scaling curve: nodes per second of a fixed-time search of the starting position, for 1 to N threads. \n
+	 * Usage: LazySmp [max threads] [milliseconds] [classic | custom]
+	 * @param args	Most threads (default: every core), time per search (default 2000), and board mode (default classic)
+	 */
+	public static void main(String[] args){
+		int maxThreads 		= (args.length > 0) ? Integer.parseInt(args[0]) : Runtime.getRuntime().availableProcessors();
+		long millis 		= (args.length > 1) ? Long.parseLong(args[1]) : 2000;
+		boolean classicMode = (args.length < 3) || ! args[2].equals("custom");
+
+		long baseNps = 0;
+		System.out.println("threads  depth  nodes/s  speedup");
+		for (int threads = 1; threads <= maxThreads; threads++){
+			LazySmp smp = new LazySmp(threads, new TranspositionTable(64));
+			long start = System.nanoTime();
+			Search.Result result = smp.search(new ChessBoard(8, 8, classicMode), Search.MAX_PLY, Long.MAX_VALUE, millis);
+			long nanos = System.nanoTime() - start;
+			smp.shutdown();
+
+			long nps = result.nodes * 1000000000L / Math.max(1, nanos);
+			if (threads == 1)
+				baseNps = nps;
+			System.out.println(threads + "  " + result.depth + "  " + nps + "  " + String.format("%.2f", (double) nps / Math.max(1, baseNps))
+					+ "  " + Search.moveName(result.move));
+		}
+	}
+}
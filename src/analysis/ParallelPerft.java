@@ -0,0 +1,147 @@
+package analysis;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+import main_components.ChessBoard;
+import piece_properties.MoveList;
+
+/**
+ * \brief
+ * Perft on many threads. The move tree is split into one task per move at the root and at the next few plies,
+ * and the tasks run on a ForkJoinPool. \n
+ * Every task works on its own copy of the ChessBoard, so no ChessBoard is shared between threads.
+ * Below the split plies, each task counts its subtree with a plain Perft. A PerftCache may be shared by all tasks.
+ * @author Rodney Shaghoulian
+ */
+public class ParallelPerft {
+	/* Data */
+	private final ForkJoinPool pool;	///< Threads that run the tasks
+	private final int splitPlies;		///< Number of plies, from the root, that are split into tasks
+	private final PerftCache cache;		///< Counts shared by all threads. null for no cache.
+
+	/**
+	 * Constructor
+	 * @param threads		Number of threads
+	 * @param splitPlies	Number of plies split into tasks. 1 splits only the root moves; 2 or 3 keeps many cores busy.
+	 * @param cache			Counts shared by all threads. null for no cache.
+	 */
+	public ParallelPerft(int threads, int splitPlies, PerftCache cache){
+		this.pool 		= new ForkJoinPool(threads);
+		this.splitPlies = Math.max(1, splitPlies);
+		this.cache 		= cache;
+	}
+
+	/**
+	 * Counts leaf nodes. The given ChessBoard is only read.
+	 * @param board		ChessBoard to count moves on, from the player whose turn it is
+	 * @param depth		Number of plies to look ahead
+	 * @return			Number of legal move sequences of that length
+	 */
+	public long perft(ChessBoard board, int depth){
+		return pool.invoke(new PerftTask(board, -1, depth, 0));
+	}
+
+	/**
+	 * Counts leaf nodes below each legal move of the current position ("divide"), in parallel. The given ChessBoard is only read.
+	 * @param board		ChessBoard to count moves on, from the player whose turn it is
+	 * @param depth		Number of plies to look ahead, including the first move
+	 * @param list		Filled with the legal moves of the current position
+	 * @return			Leaf count below each move of list, in the same order
+	 */
+	public long[] divide(ChessBoard board, int depth, MoveList list){
+		list.clear();
+		new ChessBoard(board).generateLegalMoves(list);
+		PerftTask[] tasks = new PerftTask[list.size];
+		for (int i = 0; i < list.size; i++)
+			tasks[i] = new PerftTask(board, list.get(i), depth - 1, 1);
+		long[] counts = new long[list.size];
+		for (int i = 0; i < tasks.length; i++)
+			pool.execute(tasks[i]);
+		for (int i = 0; i < tasks.length; i++)
+			counts[i] = tasks[i].join();
+		return counts;
+	}
+
+	/**
+	 * Stops the threads once they are idle
+	 */
+	public void shutdown(){
+		pool.shutdown();
+	}
+
+	/**
+	 * \brief
+	 * Counts the leaf nodes below one move
+	 */
+	private class PerftTask extends RecursiveTask<Long> {
+		private static final long serialVersionUID = 1L;
+		private final ChessBoard parent;	///< Position before the move. Only read, since sibling tasks copy it at the same time.
+		private final int move;				///< Packed move to make on a copy of parent. -1 to count parent itself.
+		private final int depth;			///< Plies left after the move
+		private final int ply;				///< Plies from the root after the move
+
+		/**
+		 * Constructor
+		 * @param parent	Position before the move
+		 * @param move		Packed move, or -1 for no move
+		 * @param depth		Plies left after the move
+		 * @param ply		Plies from the root after the move
+		 */
+		PerftTask(ChessBoard parent, int move, int depth, int ply){
+			this.parent = parent;
+			this.move 	= move;
+			this.depth 	= depth;
+			this.ply 	= ply;
+		}
+
+		/**
+		 * Copies the position, makes the move, and either splits into more tasks or counts on this thread
+		 * @return		Number of leaf nodes
+		 */
+		protected Long compute(){
+			ChessBoard board = new ChessBoard(parent);
+			if (move >= 0)
+				board.makeMove(MoveList.from(move), MoveList.to(move));
+			if (ply >= splitPlies || depth <= 2)
+				return new Perft(board, cache).perft(depth);
+
+			/* Split: one task per move */
+			MoveList list = new MoveList();
+			board.generateLegalMoves(list);
+			PerftTask[] tasks = new PerftTask[list.size];
+			for (int i = 0; i < list.size; i++)
+				tasks[i] = new PerftTask(board, list.get(i), depth - 1, ply + 1);
+			invokeAll(tasks);
+			long nodes = 0;
+			for (PerftTask task : tasks)
+				nodes += task.join();
+			return nodes;
+		}
+	}
+
+	/**
+	 * Runs parallel perft from the starting position and reports counts, time, and nodes per second. \n
+	 * Usage: ParallelPerft [depth] [classic | custom] [threads] [cache megabytes]
+	 * @param args	Depth (default 6), board mode (default classic), threads (default: every core), and cache size (default 0: no cache)
+	 */
+	public static void main(String[] args){
+		int depth 		    = (args.length > 0) ? Integer.parseInt(args[0]) : 6;
+		boolean classicMode = (args.length < 2) || ! args[1].equals("custom");
+		int threads 	    = (args.length > 2) ? Integer.parseInt(args[2]) : Runtime.getRuntime().availableProcessors();
+		int megabytes 	    = (args.length > 3) ? Integer.parseInt(args[3]) : 0;
+		ParallelPerft perft = new ParallelPerft(threads, 2, (megabytes > 0) ? new PerftCache(megabytes) : null);
+
+		long start = System.nanoTime();
+		long nodes = perft.perft(new ChessBoard(8, 8, classicMode), depth);
+		long nanos = System.nanoTime() - start;
+		perft.shutdown();
+
+		String mode = classicMode ? "classic" : "custom";
+		System.out.println("perft(" + depth + ") " + mode + " on " + threads + " threads: " + nodes + " nodes in " + (nanos / 1000000) + " ms, "
+				+ (nodes * 1000000000L / Math.max(1, nanos)) + " nodes/s");
+		long[] reference = Perft.REFERENCE[classicMode ? 0 : 1];
+		if (depth < reference.length)
+			System.out.println(nodes == reference[depth] ? "matches reference" : "MISMATCH: reference is " + reference[depth]);
+	}
+}
@@ -0,0 +1,163 @@
+package analysis;
+
+import main_components.ChessBoard;
+import piece_properties.MoveList;
+
+/**
+ * \brief
+ * Perft: counts the leaf nodes of the legal move tree to a fixed depth. \n
+ * The counts prove the move generator correct (they must match REFERENCE), and the time they take measures its speed. \n
+ * Moves are made in place with ChessBoard.makeMove(), so SHAPESHIFTER and DECOY pieces don't change while counting.
+ * @author Rodney Shaghoulian
+ */
+public class Perft {
+	/**
+	 * Leaf counts from the starting position, by depth: REFERENCE[0] for classic mode, REFERENCE[1] for custom mode. \n
+	 * Classic counts are the standard perft counts, less the en passant captures and castles this game doesn't have.
+	 */
+	public static final long[][] REFERENCE = {
+		{1, 20, 400, 8902, 197281, 4865351},
+		{1, 20, 400, 8900, 195503, 4747495}
+	};
+
+	/* Data */
+	private final ChessBoard board;		///< ChessBoard to count moves on. It is restored after every count.
+	private MoveList[] lists;			///< One reusable MoveList per ply
+	private final PerftCache cache;		///< Counts of positions already seen. null for no cache.
+
+	/**
+	 * Constructor
+	 * @param board		ChessBoard to count moves on, from the player whose turn it is
+	 */
+	public Perft(ChessBoard board){
+		this(board, null);
+	}
+
+	/**
+	 * Constructor: Counts with a cache, so positions reached by different move orders are counted once
+	 * @param board		ChessBoard to count moves on, from the player whose turn it is
+	 * @param cache		Cache of counts. May be shared with other threads. null for no cache.
+	 */
+	public Perft(ChessBoard board, PerftCache cache){
+		this.board = board;
+		this.cache = cache;
+		lists = new MoveList[0];
+	}
+
+	/**
+	 * Counts leaf nodes
+	 * @param depth		Number of plies to look ahead
+	 * @return			Number of legal move sequences of that length
+	 */
+	public long perft(int depth){
+		ensureLists(depth);
+		return count(depth, 0);
+	}
+
+	/**
+	 * Counts leaf nodes below each legal move of the current position ("divide"), to find which move a wrong count comes from
+	 * @param depth		Number of plies to look ahead, including the first move
+	 * @param list		Filled with the legal moves of the current position
+	 * @return			Leaf count below each move of list, in the same order
+	 */
+	public long[] divide(int depth, MoveList list){
+		ensureLists(depth);
+		list.clear();
+		board.generateLegalMoves(list);
+		long[] counts = new long[list.size];
+		for (int i = 0; i < list.size; i++){
+			int move = list.get(i);
+			board.makeMove(MoveList.from(move), MoveList.to(move));
+			counts[i] = count(depth - 1, 1);
+			board.unmakeMove();
+		}
+		return counts;
+	}
+
+	/**
+	 * Recursive helper for perft() and divide()
+	 * @param depth		Plies left
+	 * @param ply		Plies from the root, to pick a MoveList
+	 * @return			Number of leaf nodes
+	 */
+	private long count(int depth, int ply){
+		if (depth == 0)
+			return 1;
+		if (cache != null && depth >= 2){
+			long nodes = cache.probe(board.zobristKey, depth);
+			if (nodes >= 0)
+				return nodes;
+		}
+		MoveList list = lists[ply];
+		list.clear();
+		board.generateLegalMoves(list);
+		if (depth == 1)
+			return list.size;	// bulk counting: the leaves don't have to be made
+		long nodes = 0;
+		for (int i = 0; i < list.size; i++){
+			int move = list.get(i);
+			board.makeMove(MoveList.from(move), MoveList.to(move));
+			nodes += count(depth - 1, ply + 1);
+			board.unmakeMove();
+		}
+		if (cache != null)
+			cache.store(board.zobristKey, depth, nodes);
+		return nodes;
+	}
+
+	/**
+	 * Private Helper function to make sure there is a MoveList for every ply
+	 * @param depth		Number of plies
+	 */
+	private void ensureLists(int depth){
+		if (lists.length >= depth)
+			return;
+		MoveList[] newLists = java.util.Arrays.copyOf(lists, depth);
+		for (int ply = lists.length; ply < depth; ply++)
+			newLists[ply] = new MoveList();
+		lists = newLists;
+	}
+
+	/**
+	 * Names a square in algebraic notation, with row 0 as rank 1
+	 * @param square	Square from 0 - 63
+	 * @return			"a1" to "h8"
+	 */
+	public static String squareName(int square){
+		return "" + (char) ('a' + (square & 7)) + (1 + (square >>> 3));
+	}
+
+	/**
+	 * Runs perft from the starting position and reports counts, time, and nodes per second. \n
+	 * Usage: Perft [depth] [classic | custom] [divide]
+	 * @param args	Depth (default 5), board mode (default classic), and "divide" to list the count below each first move
+	 */
+	public static void main(String[] args){
+		int depth 		   = (args.length > 0) ? Integer.parseInt(args[0]) : 5;
+		boolean classicMode = (args.length < 2) || ! args[1].equals("custom");
+		boolean divide 	   = (args.length > 2) && args[2].equals("divide");
+		Perft perft = new Perft(new ChessBoard(8, 8, classicMode));
+
+		long start = System.nanoTime();
+		long nodes = 0;
+		if (divide){
+			MoveList list = new MoveList();
+			long[] counts = perft.divide(depth, list);
+			for (int i = 0; i < list.size; i++){
+				int move = list.get(i);
+				System.out.println(squareName(MoveList.from(move)) + squareName(MoveList.to(move)) + ": " + counts[i]);
+				nodes += counts[i];
+			}
+		}
+		else
+			nodes = perft.perft(depth);
+		long nanos = System.nanoTime() - start;
+
+		String mode = classicMode ? "classic" : "custom";
+		System.out.println("perft(" + depth + ") " + mode + ": " + nodes + " nodes in " + (nanos / 1000000) + " ms, "
+				+ (nodes * 1000000000L / Math.max(1, nanos)) + " nodes/s");
+		long[] reference = REFERENCE[classicMode ? 0 : 1];
+		if (depth < reference.length)
+			System.out.println(nodes == reference[depth] ? "matches reference" : "MISMATCH: reference is " + reference[depth]);
+	}
+}
@@ -0,0 +1,61 @@
+package analysis;
+
+/**
+ * \brief
+ * A fixed-size cache of perft counts, indexed by Zobrist key and depth, that many threads can share without locks. \n
+ * Like TranspositionTable, each entry is stored as (check XOR count, count), so an entry torn by 2 threads writing at once
+ * reads as a miss. Newer counts always replace older ones.
+ * @author Rodney Shaghoulian
+ */
+public class PerftCache {
+	/* Data */
+	private final long[] table;		///< 2 longs per entry: (check ^ count, count)
+	private final int entryMask;	///< Number of entries - 1. The number of entries is a power of 2.
+
+	/**
+	 * Constructor: Creates an empty cache
+	 * @param megabytes		Size of the cache. Rounded down to a power of 2 entries, with at least 1 entry.
+	 */
+	public PerftCache(int megabytes){
+		long entries = Math.max(1, ((long) megabytes << 20) / 16);
+		entries = Math.min(Long.highestOneBit(entries), 1 << 29);
+		table = new long[(int) entries * 2];
+		entryMask = (int) entries - 1;
+	}
+
+	/**
+	 * Looks up a count
+	 * @param key		Zobrist key of the position
+	 * @param depth		Depth the count is for
+	 * @return			The count, or -1 if it isn't stored
+	 */
+	public long probe(long key, int depth){
+		long check = check(key, depth);
+		int index = ((int) check & entryMask) << 1;
+		long count = table[index + 1];
+		return ((table[index] ^ count) == check) ? count : -1;
+	}
+
+	/**
+	 * Stores a count
+	 * @param key		Zobrist key of the position
+	 * @param depth		Depth the count is for
+	 * @param count		Number of leaf nodes
+	 */
+	public void store(long key, int depth, long count){
+		long check = check(key, depth);
+		int index = ((int) check & entryMask) << 1;
+		table[index]     = check ^ count;
+		table[index + 1] = count;
+	}
+
+	/**
+	 * Private Helper function to mix the depth into the key, so each depth of a position gets its own entry
+	 * @param key		Zobrist key of the position
+	 * @param depth		Depth the count is for
+	 * @return			Key to index and verify the entry with
+	 */
+	private static long check(long key, int depth){
+		return key ^ (depth * 0x9E3779B97F4A7C15L);
+	}
+}
@@ -0,0 +1,115 @@
+package analysis;
+
+import main_components.ChessBoard;
+import main_components.ChessPiece;
+import piece_properties.Evaluation;
+import piece_properties.MoveList;
+import piece_properties.MovePicker;
+
+/**
+ * \brief
+ * Scores a position only once its captures are played out, so a piece that is about to be taken back doesn't count. \n
+ * Only captures are searched, best victim first. At each ply the player to move may "stand pat": keep the static score
+ * instead of capturing, since no one is forced to capture. A capture is skipped when even winning its victim, plus
+ * DELTA_MARGIN, can't lift the score to what the player is already sure of (delta pruning), and so is a capture that
+ * loses material once every recapture is counted (ChessBoard.staticExchange()). \n
+ * A player in check must escape it, so there every legal move is searched and standing pat is not allowed.
+ * Runs on the ChessBoard with makeMove() and unmakeMove(), and restores it before returning.
+ * Inside a Search, every position counts toward the Search's limits, so a long run of captures can be cut off.
+ * @author Rodney Shaghoulian
+ */
+public class Quiescence {
+	public static final int DELTA_MARGIN = 200;	///< Most a capture can gain besides its victim's value, from piece-square bonuses
+
+	/* Data */
+	private final ChessBoard board;			///< ChessBoard to score
+	private final MovePicker[] pickers;		///< One reusable MovePicker per ply
+	private final Search search;			///< Search whose limits apply. null if none.
+	public long nodes;						///< Positions visited since construction. Callers may reset it.
+
+	/**
+	 * Constructor
+	 * @param board		ChessBoard to score
+	 */
+	public Quiescence(ChessBoard board){
+		this(board, null);
+	}
+
+	/**
+	 * Constructor for the end positions of a Search
+	 * @param board		ChessBoard to score
+	 * @param search	Search whose node, time, and stop() limits apply. null if none.
+	 */
+	Quiescence(ChessBoard board, Search search){
+		this.board  = board;
+		this.search = search;
+		pickers = new MovePicker[Search.MAX_PLY + 1];
+		for (int ply = 0; ply <= Search.MAX_PLY; ply++)
+			pickers[ply] = new MovePicker();
+	}
+
+	/**
+	 * Scores the ChessBoard once its captures are played out
+	 * @return		Score in centipawns, for the player to move
+	 */
+	public int score(){
+		return search(-Search.INFINITY, Search.INFINITY, 0);
+	}
+
+	/**
+	 * Capture-only alpha-beta search
+	 * @param alpha		Lowest score the player to move is already sure of
+	 * @param beta		Highest score the opponent will allow
+	 * @param ply		Plies from the root of the whole search, for mate scores
+	 * @return			Score for the player to move. 0 if the Search reached a limit, which then throws the score away.
+	 */
+	public int search(int alpha, int beta, int ply){
+		nodes++;
+		if (search != null && search.countNode())
+			return 0;
+		int standPat = Evaluation.evaluate(board);
+		if (ply >= Search.MAX_PLY)
+			return standPat;
+
+		/* In check every escape is searched, otherwise only captures, and the player may stand pat */
+		MovePicker picker = pickers[ply];
+		boolean inCheck = board.kingAttacked(board.playerTurn);
+		int bestScore = -Search.INFINITY;
+		if (inCheck)
+			board.pickMoves(picker, 0, null);
+		else {
+			if (standPat >= beta)
+				return standPat;
+			if (standPat > alpha)
+				alpha = standPat;
+			bestScore = standPat;
+			board.pickCaptures(picker);
+		}
+
+		for (int move; (move = picker.next()) >= 0; ){
+			if ( ! inCheck && MoveList.isCapture(move)){
+				ChessPiece victim = board.getPiece(MoveList.to(move));
+				int victimValue = (victim == null) ? 0 : Evaluation.value(victim.type);
+				if (standPat + victimValue + DELTA_MARGIN <= alpha)
+					continue;	// delta pruning: hopeless even if the victim is won for free
+				if (board.staticExchange(MoveList.from(move), MoveList.to(move)) < 0)
+					continue;	// loses material
+			}
+			board.makeMove(MoveList.from(move), MoveList.to(move));
+			int score = -search(-beta, -alpha, ply + 1);
+			board.unmakeMove();
+			if (search != null && search.isStopped())
+				return 0;
+			if (score > bestScore){
+				bestScore = score;
+				if (score > alpha)
+					alpha = score;
+			}
+			if (alpha >= beta)
+				break;
+		}
+		if (inCheck && bestScore == -Search.INFINITY)
+			return -Search.MATE + ply;	// checkmate
+		return bestScore;
+	}
+}
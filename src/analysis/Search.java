@@ -0,0 +1,284 @@
+package analysis;
+
+import main_components.ChessBoard;
+import piece_properties.Evaluation;
+import piece_properties.HistoryScore;
+import piece_properties.MoveList;
+import piece_properties.MovePicker;
+
+/**
+ * \brief
+ * Finds the best move on a ChessBoard: negamax alpha-beta search with iterative deepening. \n
+ * Each iteration searches 1 ply deeper than the last, and starts from the best line (principal variation) found so far.
+ * Results are kept in a TranspositionTable, which gives the next iteration its first move to try in each position. \n
+ * The search runs on the ChessBoard itself with makeMove() and unmakeMove(), so it supports every Type the move generator does.
+ * SHAPESHIFTER and DECOY pieces don't change while searching. The ChessBoard is restored when the search returns. \n
+ * Positions at the end of the search are scored by Quiescence, so a capture that is about to be taken back doesn't count.
+ * @author Rodney Shaghoulian
+ */
+public class Search {
+	public static final int MATE 	 = 30000;	///< Score of checkmating now. Mate in n plies scores MATE - n.
+	public static final int INFINITY = 32000;	///< Bigger than any score
+	public static final int MAX_PLY  = 64;		///< Deepest ply searched
+	private static final int CHECK_INTERVAL = 1024;	///< Positions searched between checks of the limits
+
+	/**
+	 * \brief
+	 * Result of a search
+	 */
+	public static class Result {
+		public int move;		///< Best move, packed as in MoveList. -1 if there are no legal moves.
+		public int score;		///< Score of the best move for the player to move, in centipawns
+		public int depth;		///< Depth of the last iteration that finished
+		public long nodes;		///< Positions searched
+		public int[] pv;		///< Principal variation: the best move, the best reply, and so on
+	}
+
+	/* Data */
+	private final ChessBoard board;				///< ChessBoard to search
+	private final TranspositionTable table;		///< Search results by position. May be shared with other searches.
+	private final MovePicker[] pickers;			///< One reusable MovePicker per ply
+	private final Quiescence quiescence;		///< Scores the positions at the end of the search
+	private final int[][] pvTable;				///< pvTable[ply]: best line found from ply onward
+	private final int[] pvLength;				///< Length of each line in pvTable
+	private long nodes;							///< Positions searched so far
+	private long nodeLimit;						///< Stop after this many positions
+	private long deadline;						///< Stop at this System.nanoTime()
+	private long nextCheck;						///< Check the limits once nodes reaches this
+	private boolean stopped;					///< true once a limit is reached. The unfinished iteration is thrown away.
+	private boolean limited;					///< false during the first iteration, which always finishes
+	private volatile boolean stopRequested;		///< Set by stop(), from any thread
+	private final int[][] history;				///< history[from][to]: how often a quiet move caused a cutoff, weighted by depth
+	private final HistoryScore historyScore;	///< Ranks quiet moves by history, for the MovePickers
+	public int depthOffset;						///< Each iteration searches this many plies deeper. Lazy SMP helpers use 1 to spread out.
+	boolean agesTable = true;					///< false when the caller calls table.newSearch() once for many searches, as LazySmp does
+
+	/**
+	 * Constructor
+	 * @param board		ChessBoard to search, from the player whose turn it is
+	 * @param table		TranspositionTable to use. May be shared with other searches.
+	 */
+	public Search(ChessBoard board, TranspositionTable table){
+		this.board = board;
+		this.table = table;
+		quiescence = new Quiescence(board, this);
+		pickers = new MovePicker[MAX_PLY + 1];
+		for (int ply = 0; ply <= MAX_PLY; ply++)
+			pickers[ply] = new MovePicker();
+		pvTable  = new int[MAX_PLY + 1][MAX_PLY + 1];
+		pvLength = new int[MAX_PLY + 1];
+		history  = new int[64][64];
+		historyScore = (from, to) -> history[from][to];
+	}
+	
+	/**
+	 * Asks a running search to stop soon. Safe to call from another thread.
+	 * If no search is running yet, the next one stops after its first iteration.
+	 */
+	public void stop(){
+		stopRequested = true;
+	}
+
+	/**
+	 * Searches 1 ply deeper at a time, until a limit is reached
+	 * @param maxDepth		Number of iterations, from 1 to MAX_PLY. The last one searches maxDepth + depthOffset plies.
+	 * @param nodeLimit		Most positions to search. Long.MAX_VALUE for no limit.
+	 * @param millis		Most milliseconds to search. Long.MAX_VALUE for no limit.
+	 * @return				The best move and score of the deepest iteration that finished.
+	 * 						Depth 1 always finishes, so there is a move whenever one is legal.
+	 */
+	public Result search(int maxDepth, long nodeLimit, long millis){
+		this.nodeLimit = nodeLimit;
+		this.deadline  = (millis >= Long.MAX_VALUE / 1000000) ? Long.MAX_VALUE : System.nanoTime() + millis * 1000000;
+		nodes = 0;
+		nextCheck = CHECK_INTERVAL;
+		stopped = false;
+		if (agesTable)
+			table.newSearch();
+		for (int[] fromHistory : history)
+			for (int to = 0; to < 64; to++)
+				fromHistory[to] >>= 1;	// older cutoffs count for less
+
+		Result result = new Result();
+		result.move = -1;
+		result.pv = new int[0];
+		for (int iteration = 1; iteration <= maxDepth; iteration++){
+			int depth = Math.min(iteration + ((iteration > 1) ? depthOffset : 0), MAX_PLY);
+			limited = depth > 1;
+			int score = alphaBeta(depth, -INFINITY, INFINITY, 0);
+			if (stopped)
+				break;
+			result.score = score;
+			result.depth = depth;
+			result.pv 	 = java.util.Arrays.copyOf(pvTable[0], pvLength[0]);
+			result.move  = (pvLength[0] > 0) ? pvTable[0][0] : -1;
+			if (result.move < 0 || Math.abs(score) >= MATE - MAX_PLY)
+				break;	// no legal move, or a forced mate was found
+		}
+		result.nodes = nodes;
+		stopRequested = false;
+		return result;
+	}
+
+	/**
+	 * Negamax alpha-beta search
+	 * @param depth		Plies left
+	 * @param alpha		Lowest score the player to move is already sure of
+	 * @param beta		Highest score the opponent will allow
+	 * @param ply		Plies from the root
+	 * @return			Score for the player to move
+	 */
+	private int alphaBeta(int depth, int alpha, int beta, int ply){
+		pvLength[ply] = 0;
+		if (depth == 0)
+			return quiescence.search(alpha, beta, ply);	// counts this position itself
+		if (countNode() && ply > 0)
+			return 0;
+		if (ply == MAX_PLY)
+			return Evaluation.evaluate(board);
+
+		/* A stored result may answer this position already */
+		long key = board.zobristKey;
+		long entry = table.probe(key);
+		int tableMove = TranspositionTable.move(entry);
+		if (entry != 0 && ply > 0 && TranspositionTable.depth(entry) >= depth){
+			int score = fromTable(TranspositionTable.score(entry), ply);
+			int bound = TranspositionTable.bound(entry);
+			if (bound == TranspositionTable.EXACT
+					|| (bound == TranspositionTable.LOWER && score >= beta)
+					|| (bound == TranspositionTable.UPPER && score <= alpha))
+				return score;
+		}
+
+		/* Best moves first: the stored move, then captures, then quiet moves by history */
+		MovePicker picker = pickers[ply];
+		board.pickMoves(picker, tableMove, historyScore);
+
+		int bestScore = -INFINITY;
+		int bestMove  = 0;
+		int originalAlpha = alpha;
+		int legalMoves = 0;
+		for (int move; (move = picker.next()) >= 0; ){
+			legalMoves++;
+			board.makeMove(MoveList.from(move), MoveList.to(move));
+			int score = -alphaBeta(depth - 1, -beta, -alpha, ply + 1);
+			board.unmakeMove();
+			if (stopped && ply > 0)
+				return 0;
+			if (score > bestScore){
+				bestScore = score;
+				bestMove  = move;
+				if (score > alpha){
+					alpha = score;
+					updatePv(ply, move);
+				}
+			}
+			if (alpha >= beta){
+				if ( ! MoveList.isCapture(move))
+					history[MoveList.from(move)][MoveList.to(move)] += depth * depth;
+				break;
+			}
+			if (stopped)
+				break;	// at the root too: search() throws this unfinished iteration away
+		}
+
+		if (legalMoves == 0)
+			return picker.inCheck() ? -MATE + ply : 0;	// checkmate or stalemate
+
+		int bound = (bestScore >= beta) ? TranspositionTable.LOWER : (bestScore > originalAlpha) ? TranspositionTable.EXACT : TranspositionTable.UPPER;
+		if ( ! stopped)
+			table.store(key, bestMove, toTable(bestScore, ply), depth, bound);
+		return bestScore;
+	}
+
+	/**
+	 * Counts a searched position, and checks the limits every CHECK_INTERVAL positions. Quiescence counts its positions here too.
+	 * @return		true once a limit is reached, after the first iteration
+	 */
+	boolean countNode(){
+		if (++nodes >= nextCheck){
+			nextCheck = nodes + CHECK_INTERVAL;
+			if (limited && (nodes >= nodeLimit || stopRequested || System.nanoTime() >= deadline))
+				stopped = true;
+		}
+		return stopped;
+	}
+
+	/**
+	 * Determines if a limit was reached, so the unfinished iteration must be thrown away
+	 * @return		true once a limit is reached
+	 */
+	boolean isStopped(){
+		return stopped;
+	}
+
+	/**
+	 * Private Helper function to make a move followed by the best line after it, the best line from ply
+	 * @param ply		Plies from the root
+	 * @param move		The new best move at ply
+	 */
+	private void updatePv(int ply, int move){
+		pvTable[ply][0] = move;
+		System.arraycopy(pvTable[ply + 1], 0, pvTable[ply], 1, pvLength[ply + 1]);
+		pvLength[ply] = pvLength[ply + 1] + 1;
+	}
+
+	/**
+	 * Mate scores are stored as distance from the stored position, not from the root
+	 * @param score		Score at ply
+	 * @param ply		Plies from the root
+	 * @return			Score to store
+	 */
+	private static int toTable(int score, int ply){
+		if (score >= MATE - MAX_PLY)
+			return score + ply;
+		if (score <= -MATE + MAX_PLY)
+			return score - ply;
+		return score;
+	}
+
+	/**
+	 * Undoes toTable()
+	 * @param score		Stored score
+	 * @param ply		Plies from the root
+	 * @return			Score at ply
+	 */
+	private static int fromTable(int score, int ply){
+		if (score >= MATE - MAX_PLY)
+			return score - ply;
+		if (score <= -MATE + MAX_PLY)
+			return score + ply;
+		return score;
+	}
+
+	/**
+	 * Writes a packed move like "e2e4"
+	 * @param move	Packed move
+	 * @return		The move's squares in algebraic notation
+	 */
+	public static String moveName(int move){
+		return Perft.squareName(MoveList.from(move)) + Perft.squareName(MoveList.to(move));
+	}
+
+	/**
+	 * Searches the starting position and prints each result. \n
+	 * Usage: Search [depth] [classic | custom] [milliseconds]
+	 * @param args	Depth (default 6), board mode (default classic), and time limit (default none)
+	 */
+	public static void main(String[] args){
+		int depth 		    = (args.length > 0) ? Integer.parseInt(args[0]) : 6;
+		boolean classicMode = (args.length < 2) || ! args[1].equals("custom");
+		long millis 	    = (args.length > 2) ? Long.parseLong(args[2]) : Long.MAX_VALUE;
+		Search search = new Search(new ChessBoard(8, 8, classicMode), new TranspositionTable(64));
+
+		long start = System.nanoTime();
+		Result result = search.search(depth, Long.MAX_VALUE, millis);
+		long nanos = System.nanoTime() - start;
+
+		StringBuilder pv = new StringBuilder();
+		for (int move : result.pv)
+			pv.append(moveName(move)).append(' ');
+		System.out.println("depth " + result.depth + " score " + result.score + " nodes " + result.nodes + " time " + (nanos / 1000000)
+				+ " ms nps " + (result.nodes * 1000000000L / Math.max(1, nanos)) + " pv " + pv.toString().trim());
+	}
+}
@@ -0,0 +1,151 @@
+/** \brief Search and analysis tools that run on a ChessBoard without the GUI */
+package analysis;
+
+/**
+ * \brief
+ * A fixed-size table of search results, indexed by a position's Zobrist key, that many threads can share without locks. \n
+ * Each entry is 2 longs: (key XOR data) and data. A reader only accepts an entry if XORing them back gives its key,
+ * so an entry torn by 2 threads writing at once reads as a miss instead of as wrong data. \n
+ * Each bucket holds 2 entries: a depth-preferred one, which keeps the deepest result of the current search,
+ * and an always-replace one, which takes everything else.
+ * @author Rodney Shaghoulian
+ */
+public class TranspositionTable {
+	/* Bounds */
+	public static final int UPPER = 1;	///< Score is at most the stored score (no move beat alpha)
+	public static final int LOWER = 2;	///< Score is at least the stored score (a move beat beta)
+	public static final int EXACT = 3;	///< Score is exact
+
+	/* Data layout: bits 0-15 = move, 16-31 = score, 32-39 = depth, 40-41 = bound, 42-49 = age */
+	private static final int SCORE_SHIFT = 16;
+	private static final int DEPTH_SHIFT = 32;
+	private static final int BOUND_SHIFT = 40;
+	private static final int AGE_SHIFT   = 42;
+
+	/* Data */
+	private final long[] table;		///< 4 longs per bucket: depth-preferred (key ^ data, data), then always-replace (key ^ data, data)
+	private final int bucketMask;	///< Number of buckets - 1. The number of buckets is a power of 2.
+	private volatile int age;		///< Search number, from 0 - 255. Entries from older searches are replaced first.
+
+	/**
+	 * Constructor: Creates an empty table
+	 * @param megabytes		Size of the table. Rounded down to a power of 2 buckets, with at least 1 bucket.
+	 */
+	public TranspositionTable(int megabytes){
+		long buckets = Math.max(1, ((long) megabytes << 20) / 32);
+		buckets = Math.min(Long.highestOneBit(buckets), 1 << 28);
+		table = new long[(int) buckets * 4];
+		bucketMask = (int) buckets - 1;
+	}
+
+	/**
+	 * Empties the table. Not safe while other threads are using it.
+	 */
+	public void clear(){
+		java.util.Arrays.fill(table, 0);
+		age = 0;
+	}
+
+	/**
+	 * Starts a new search, so results of earlier searches are replaced before results of this one
+	 */
+	public void newSearch(){
+		age = (age + 1) & 255;
+	}
+
+	/**
+	 * @return		Search number of the current search, from 0 - 255. Goes up by 1 on each newSearch().
+	 */
+	public int currentAge(){
+		return age;
+	}
+
+	/**
+	 * Looks up a position
+	 * @param key	Zobrist key of the position
+	 * @return		Packed entry data, read with move(), score(), depth() and bound(). 0 if the position isn't stored.
+	 */
+	public long probe(long key){
+		int index = ((int) key & bucketMask) << 2;
+		long data = table[index + 1];
+		if ((table[index] ^ data) == key)
+			return data;
+		data = table[index + 3];
+		if ((table[index + 2] ^ data) == key)
+			return data;
+		return 0;
+	}
+
+	/**
+	 * Stores a search result
+	 * @param key		Zobrist key of the position
+	 * @param move		Best move, packed as in MoveList (fits in 16 bits). 0 if none.
+	 * @param score		Score, from -32768 to 32767
+	 * @param depth		Depth searched, from 0 - 255
+	 * @param bound		UPPER, LOWER, or EXACT
+	 */
+	public void store(long key, int move, int score, int depth, int bound){
+		int index = ((int) key & bucketMask) << 2;
+		int currentAge = age;
+		long data = (move & 0xFFFFL)
+				  | ((score & 0xFFFFL) << SCORE_SHIFT)
+				  | ((long) depth << DEPTH_SHIFT)
+				  | ((long) bound << BOUND_SHIFT)
+				  | ((long) currentAge << AGE_SHIFT);
+
+		/* Depth-preferred entry: keep it unless this result is as deep, or it is from an older search */
+		long stored = table[index + 1];
+		boolean sameKey = (table[index] ^ stored) == key;
+		if (sameKey || depth(stored) <= depth || age(stored) != currentAge){
+			if (sameKey && move == 0)
+				data |= stored & 0xFFFFL;	// keep the best move we already knew
+			table[index]     = key ^ data;
+			table[index + 1] = data;
+			return;
+		}
+
+		/* Always-replace entry */
+		table[index + 2] = key ^ data;
+		table[index + 3] = data;
+	}
+
+	/**
+	 * @param data	Packed entry data from probe()
+	 * @return		Best move, packed as in MoveList. 0 if none.
+	 */
+	public static int move(long data){
+		return (int) (data & 0xFFFF);
+	}
+
+	/**
+	 * @param data	Packed entry data from probe()
+	 * @return		Score
+	 */
+	public static int score(long data){
+		return (short) (data >>> SCORE_SHIFT);
+	}
+
+	/**
+	 * @param data	Packed entry data from probe()
+	 * @return		Depth searched
+	 */
+	public static int depth(long data){
+		return (int) (data >>> DEPTH_SHIFT) & 255;
+	}
+
+	/**
+	 * @param data	Packed entry data from probe()
+	 * @return		UPPER, LOWER, or EXACT. 0 for an empty entry.
+	 */
+	public static int bound(long data){
+		return (int) (data >>> BOUND_SHIFT) & 3;
+	}
+
+	/**
+	 * @param data	Packed entry data from probe()
+	 * @return		Search number the entry was stored in
+	 */
+	private static int age(long data){
+		return (int) (data >>> AGE_SHIFT) & 255;
+	}
+}
@@ -55,6 +55,7 @@ public class MoveListener extends MouseAdapter {
 		ChessPiece chessPiece = chessBoard.tile[currentButton.yPos][currentButton.xPos];
 		if (chessPiece != null && chessPiece.color == chessBoard.playerTurn){
 			controller.buttonsToHighlight.add(currentButton);
+			chessBoard.requestValidTiles(chessPiece.color);
 			for (Point point : chessPiece.moves.validTiles){
 				Button button = view.getButton(point);
 				controller.buttonsToHighlight.add(button);
@@ -33,20 +33,75 @@ public class ChessBoard{
 
 	public Color winner;				///< Either Color.BLACK or Color.WHITE when not null
 	public boolean classicMode;			///< true for classicMode. false for customMode.
+	public SeededRandom random;			///< Draws every SHAPESHIFTER and DECOY change. random.seed and the moves played are enough to replay a game.
+	
+	/* Bitboards: bit (8 * row + column) represents tile[row][column] */
+	public long[][] pieceBitboards;		///< One bitboard per Color and Type: pieceBitboards[color.ordinal()][type.ordinal()]
+	public long whitePieces;			///< Bitboard of every tile holding a WHITE ChessPiece. Also the list of WHITE pieces to loop through.
+	public long blackPieces;			///< Bitboard of every tile holding a BLACK ChessPiece. Also the list of BLACK pieces to loop through.
+	public long occupied;				///< Bitboard of every tile holding any ChessPiece
+	public long zobristKey;				///< Zobrist key of the position: every ChessPiece, and the player to move. Updated along with the bitboards.
+	public int score;					///< Evaluation of the position, WHITE minus BLACK, in centipawns (see Evaluation). Updated along with the bitboards.
+	
+	/* Attack maps: patched by every move and undo, so only the ChessPieces a move affects are recomputed */
+	public long[] attacksFrom = new long[64];	///< Attack set of the ChessPiece on each square, including tiles it defends. 0 for an empty square
+	public long[] attackersTo = new long[64];	///< Bitboard of the squares whose ChessPiece attacks each square
+	private long staleAttackTiles;				///< Squares whose ChessPiece needs its "Attack Tiles" refreshed by updateAttackTiles()
+	private boolean whiteValidTilesReady;		///< false once the ChessBoard changes, until WHITE's "Valid Tiles" are updated again
+	private boolean blackValidTilesReady;		///< false once the ChessBoard changes, until BLACK's "Valid Tiles" are updated again
+	
+	/* Undo records for makeMove() and unmakeMove() */
+	private int[] madeMoves = new int[64];						///< (from | to << 6) of every move that can be unmade
+	private ChessPiece[] capturedPieces = new ChessPiece[64];	///< ChessPiece captured by every move that can be unmade. null if none
+	private int movesMade = 0;									///< Number of moves that can be unmade
+	
+	public final MoveGenerator moveGenerator = new MoveGenerator();	///< Reusable legal move generator for this ChessBoard
+	private final int[] exchangeGains = new int[33];				///< Reusable swap list of staticExchange(): 1 entry per capture, at most 32
+	
+	private static final Type[] types = Type.values();			///< Every Type, without cloning Type.values() each time
+	private static final Point[] squarePoints = new Point[64];	///< One shared Point per square. Never modify these.
+	private static final int KING_EXCHANGE_VALUE = 10000;		///< Value of a KING in staticExchange(): it may only capture last
+	private static final int[] exchangeOrder = new int[types.length];	///< Type ordinals from least to most valuable, KING last
+	static {
+		for (int square = 0; square < 64; square++)
+			squarePoints[square] = new Point(square & 7, square >>> 3);
+		for (int type = 0; type < types.length; type++){
+			int position = type;
+			for (; position > 0 && exchangeValue(exchangeOrder[position - 1]) > exchangeValue(type); position--)
+				exchangeOrder[position] = exchangeOrder[position - 1];
+			exchangeOrder[position] = type;
+		}
+	}
 	
 	/****************/
 	/* Constructors */
 	/****************/
 	
 	/**
-	 * Constructor - Initializes a ChessBoard
-	 * @param numRows 		Number of rows on ChessBoard
-	 * @param numColumns 	Number of columns on ChessBoard
+	 * Constructor - Initializes a ChessBoard, with a fresh random seed
+	 * @param numRows 		Number of rows on ChessBoard. Must be 8.
+	 * @param numColumns 	Number of columns on ChessBoard. Must be 8.
 	 * @param classicMode	True or False. True = Classic Mode. False = Custom Mode
 	 */
 	public ChessBoard(int numRows, int numColumns, boolean classicMode) {
+		this(numRows, numColumns, classicMode, SeededRandom.newSeed());
+	}
+	
+	/**
+	 * Constructor - Initializes a ChessBoard whose SHAPESHIFTER and DECOY changes come from a given seed
+	 * @param numRows 		Number of rows on ChessBoard. Must be 8.
+	 * @param numColumns 	Number of columns on ChessBoard. Must be 8.
+	 * @param classicMode	True or False. True = Classic Mode. False = Custom Mode
+	 * @param seed			Seed of random. The same seed and moves always give the same game.
+	 * @throws IllegalArgumentException	if the ChessBoard isn't 8x8, since each tile is 1 bit of a 64-bit bitboard
+	 */
+	public ChessBoard(int numRows, int numColumns, boolean classicMode, long seed) {
+		if (numRows != 8 || numColumns != 8)
+			throw new IllegalArgumentException("ChessBoard must be 8x8, not " + numRows + "x" + numColumns);
+
 		/* Create Essential Info */
 		this.classicMode = classicMode;
+		random = new SeededRandom(seed);
 		rows = numRows;
 		columns = numColumns;
 		tile = new ChessPiece[rows][columns];
@@ -66,13 +121,14 @@ public class ChessBoard{
 		winner = null;
 		classicMode = true;
 
+		updateBitboards();	// after playerTurn, which is part of zobristKey
 		updateAttackTiles();   
 		updateValidTiles(); 
 	}
 
 	/**
 	 * Copy Constructor - Important: Will then need to call updateValidTiles() manually (which calls this function), to avoid infinite loop \n
-	 * We use this to create another board to try moves on
+	 * To try moves on the same ChessBoard, use makeMove() and unmakeMove() instead
 	 * @param otherBoard The ChessBoard to create a copy of
 	 */
 	public ChessBoard(ChessBoard otherBoard) {
@@ -108,7 +164,9 @@ public class ChessBoard{
 		
 		winner		 = otherBoard.winner;
 		classicMode  = otherBoard.classicMode;
+		random 		 = new SeededRandom(otherBoard.random);	// same sequence, without drawing from the original
 		
+		updateBitboards();	// after playerTurn, which is part of zobristKey
 		updateAttackTiles();
 	}
 	
@@ -128,10 +186,7 @@ public class ChessBoard{
 	 * @return		"true" if any ChessPiece exists at the given Position. "false" otherwise.
 	 */
 	public boolean pieceExists(Point pos){
-		if (tile[pos.y][pos.x] == null)
-			return false;
-		else
-			return true;
+		return (occupied & (1L << square(pos))) != 0;
 	}
 	
 	
@@ -141,15 +196,25 @@ public class ChessBoard{
 	 * @return		COLOR of ChessPiece on tile.
 	 */
 	public Color pieceColor(Point pos){
-		return tile[pos.y][pos.x].color;
+		if ((whitePieces & (1L << square(pos))) != 0)
+			return Color.WHITE;
+		else
+			return Color.BLACK;
 	}
 
 	/**
-	 * Moves Piece. Only updates Positions, and saves captured ChessPieces.
+	 * Moves Piece. Only updates Positions, and saves captured ChessPieces. \n
+	 * Has no side effects besides the move: SHAPESHIFTER and DECOY pieces don't change here, so moves can be tried freely.
+	 * Command.execute() calls transformPiece() for moves that are really played.
 	 * @param piece			The ChessPiece we are moving
 	 * @param endPoint	The destination Position we want to move the ChessPiece to.
 	 */
 	public void movePiece(ChessPiece piece, Point endPoint){
+		long affected = affectedSquares(square(piece.position), square(endPoint));
+		
+		/* Take the moving ChessPiece, and any ChessPiece it captures, off the bitboards */
+		removeFromBitboards(piece);
+		clearBitboards(square(endPoint));
 		
 		/* Move Piece On Board */
 		tile[endPoint.y][endPoint.x] = tile[piece.position.y][piece.position.x]; // Clever Trick: Garbage Collector Captures Pieces 
@@ -158,13 +223,291 @@ public class ChessBoard{
 		/* Update Piece's Position */
 		piece.position = endPoint;
 		
-		/* SHAPESHIFTER and DECOY pieces change after they move */
+		addToBitboards(piece);
+		updateAttackMaps(affected);
+	}
+	
+	/**
+	 * Makes the change a SHAPESHIFTER or DECOY makes after it moves: a SHAPESHIFTER turns into a ROOK, PAWN, KNIGHT, or BISHOP,
+	 * and a DECOY takes on a new disguise, drawn from random. Other ChessPieces don't change. \n
+	 * Only for moves that are really played. Trial moves (movePiece(), makeMove()) never call it.
+	 * @param piece		The ChessPiece that just moved
+	 */
+	public void transformPiece(ChessPiece piece){
 		if (piece.type == Type.DECOY)
-			piece.changeIconRandomly();
-		else if (piece.type == Type.SHAPESHIFTER)
-			piece.changeTypeRandomly();
+			piece.changeDisguiseRandomly(random);
+		else if (piece.type == Type.SHAPESHIFTER){
+			removeFromBitboards(piece);
+			piece.changeTypeRandomly(random);
+			addToBitboards(piece);
+			updateAttackMaps(1L << square(piece.position));
+		}
+	}
+	
+	/**
+	 * Changes the Type of a ChessPiece on the ChessBoard, keeping the bitboards and attack maps in sync. \n
+	 * Used to turn a SHAPESHIFTER back when its move is undone.
+	 * @param piece		ChessPiece on the ChessBoard
+	 * @param type		Its new Type
+	 */
+	public void changeType(ChessPiece piece, Type type){
+		if (piece.type == type)
+			return;
+		removeFromBitboards(piece);
+		piece.type = type;
+		addToBitboards(piece);
+		updateAttackMaps(1L << square(piece.position));
+	}
+	
+	/**
+	 * Puts a ChessPiece on the tile given by its own position, replacing anything that was there. \n
+	 * Used to put captured ChessPieces back on the ChessBoard.
+	 * @param piece		The ChessPiece to place
+	 */
+	public void placePiece(ChessPiece piece){
+		int square = square(piece.position);
+		long affected = (1L << square) | attackersTo[square];
+		clearBitboards(square);
+		tile[piece.position.y][piece.position.x] = piece;
+		addToBitboards(piece);
+		updateAttackMaps(affected);
 	}
 
+	/**
+	 * Makes a move in place, so that it can be tried and then taken back with unmakeMove(). \n
+	 * Updates tile[][], the bitboards, the attack maps, the moving ChessPiece's position, and playerTurn. \n
+	 * Like movePiece(), SHAPESHIFTER and DECOY pieces do not change. Unlike it, makeMove() saves an undo record of the move
+	 * and any captured ChessPiece, which unmakeMove() uses to take the move back, and it passes the turn.
+	 * @param from	Square the ChessPiece moves from
+	 * @param to	Square the ChessPiece moves to
+	 */
+	public void makeMove(int from, int to){
+		ChessPiece piece 		 = getPiece(from);
+		ChessPiece capturedPiece = getPiece(to);
+		long affected = affectedSquares(from, to);
+		
+		/* Save undo record */
+		if (movesMade == madeMoves.length){
+			madeMoves 	   = java.util.Arrays.copyOf(madeMoves, 2 * movesMade);
+			capturedPieces = java.util.Arrays.copyOf(capturedPieces, 2 * movesMade);
+		}
+		madeMoves[movesMade] 	  = from | (to << 6);
+		capturedPieces[movesMade] = capturedPiece;
+		movesMade++;
+		
+		/* Move Piece On Board */
+		removeFromBitboards(piece);
+		if (capturedPiece != null)
+			removeFromBitboards(capturedPiece);
+		tile[to >>> 3][to & 7] 	   = piece;
+		tile[from >>> 3][from & 7] = null;
+		piece.position = squarePoints[to];
+		addToBitboards(piece);
+		updateAttackMaps(affected);
+		
+		updateTurn();
+	}
+	
+	/**
+	 * Takes back the last move made by makeMove()
+	 */
+	public void unmakeMove(){
+		movesMade--;
+		int from = madeMoves[movesMade] & 63;
+		int to   = madeMoves[movesMade] >>> 6;
+		ChessPiece piece 		 = getPiece(to);
+		ChessPiece capturedPiece = capturedPieces[movesMade];
+		capturedPieces[movesMade] = null;	// lets the Garbage Collector have it once it's really captured
+		long affected = affectedSquares(from, to);
+		
+		/* Move Piece Back, and restore any captured ChessPiece */
+		removeFromBitboards(piece);
+		tile[from >>> 3][from & 7] = piece;
+		tile[to >>> 3][to & 7] 	   = capturedPiece;
+		piece.position = squarePoints[from];
+		addToBitboards(piece);
+		if (capturedPiece != null)
+			addToBitboards(capturedPiece);
+		updateAttackMaps(affected);
+		
+		updateTurn();
+	}
+	
+	/**
+	 * Adds every legal move of the player whose turn it is to a MoveList. Allocates nothing.
+	 * @param list	MoveList to add the moves to. It is not cleared first.
+	 */
+	public void generateLegalMoves(MoveList list){
+		moveGenerator.setup(this, playerTurn);
+		moveGenerator.generate(list);
+	}
+	
+	/**
+	 * Starts handing out the legal moves of the player whose turn it is, best first: a given move, then captures, then quiet moves. \n
+	 * Each stage is generated only when the MovePicker reaches it. Allocates nothing.
+	 * @param picker		MovePicker to reuse. Call picker.next() for each move.
+	 * @param firstMove		Move to try first, such as a TranspositionTable move. 0 if none.
+	 * @param history		Ranks the quiet moves. null keeps them in generation order.
+	 */
+	public void pickMoves(MovePicker picker, int firstMove, HistoryScore history){
+		picker.setup(this, firstMove, history);
+	}
+	
+	/**
+	 * Starts handing out only the legal captures of the player whose turn it is, best first. Quiet moves are never generated.
+	 * @param picker		MovePicker to reuse. Call picker.next() for each capture.
+	 */
+	public void pickCaptures(MovePicker picker){
+		picker.setupCaptures(this);
+	}
+	
+	/**
+	 * Determines if a Color's KING is attacked, straight from the attack maps. \n
+	 * Unlike whiteInCheck and blackInCheck, this does not depend on updateInCheck(), so it also works after makeMove()
+	 * @param color		WHITE or BLACK
+	 * @return			true if the opponent attacks the KING of the given Color
+	 */
+	public boolean kingAttacked(Color color){
+		if (color == Color.WHITE)
+			return (attackersTo[square(whiteKing.position)] & blackPieces) != 0;
+		else
+			return (attackersTo[square(blackKing.position)] & whitePieces) != 0;
+	}
+	
+	/**
+	 * Computes every tile attacked by one Color, straight from the bitboards
+	 * @param color		WHITE or BLACK
+	 * @return			Bitboard of attacked tiles, including tiles defended by the same Color
+	 */
+	public long attackedSquares(Color color){
+		return attackedSquares(color, occupied);
+	}
+	
+	/**
+	 * Computes every tile attacked by one Color, straight from the bitboards, as if only the given tiles were occupied
+	 * @param color		WHITE or BLACK
+	 * @param occupied	Bitboard of tiles that block sliding ChessPieces
+	 * @return			Bitboard of attacked tiles, including tiles defended by the same Color
+	 */
+	public long attackedSquares(Color color, long occupied){
+		long attacks = 0;
+		long[] colorBitboards = pieceBitboards[color.ordinal()];
+		for (Type type : types){
+			for (long pieces = colorBitboards[type.ordinal()]; pieces != 0; pieces &= pieces - 1)
+				attacks |= AttackTables.attacks(type, color, Long.numberOfTrailingZeros(pieces), occupied);
+		}
+		return attacks;
+	}
+	
+	/**
+	 * Finds every ChessPiece of one Color that attacks a square, by looking outward from the square
+	 * @param square	Square from 0 - 63
+	 * @param byColor	Color of the attacking ChessPieces
+	 * @param occupied	Bitboard of tiles that block sliding ChessPieces
+	 * @return			Bitboard of the attacking ChessPieces
+	 */
+	public long attackersTo(int square, Color byColor, long occupied){
+		long[] attackerBitboards = pieceBitboards[byColor.ordinal()];
+		Color ownColor = (byColor == Color.WHITE) ? Color.BLACK : Color.WHITE;	// a PAWN attacks this square from where our PAWN would attack
+		long queenLike = attackerBitboards[Type.QUEEN.ordinal()] | attackerBitboards[Type.DECOY.ordinal()] | attackerBitboards[Type.SHAPESHIFTER.ordinal()];
+		return (AttackTables.pawnAttacks(ownColor, square) 		  & attackerBitboards[Type.PAWN.ordinal()])
+			 | (AttackTables.knightAttacks(square) 				  & attackerBitboards[Type.KNIGHT.ordinal()])
+			 | (AttackTables.centaurAttacks(square) 			  & attackerBitboards[Type.CENTAUR.ordinal()])
+			 | (AttackTables.kingAttacks(square) 				  & attackerBitboards[Type.KING.ordinal()])
+			 | (AttackTables.rookAttacks(square, occupied) 		  & (attackerBitboards[Type.ROOK.ordinal()] | queenLike))
+			 | (AttackTables.bishopAttacks(square, occupied) 	  & (attackerBitboards[Type.BISHOP.ordinal()] | queenLike))
+			 | (AttackTables.horizonAttacks(square, occupied) 	  & attackerBitboards[Type.HORIZON.ordinal()]);
+	}
+	
+	/**
+	 * Determines if a square is attacked by one Color
+	 * @param square	Square from 0 - 63
+	 * @param byColor	Color of the attacking ChessPieces
+	 * @return			true if at least one ChessPiece of byColor attacks the square
+	 */
+	public boolean isSquareAttacked(int square, Color byColor){
+		return isSquareAttacked(square, byColor, occupied);
+	}
+	
+	/**
+	 * Determines if a square is attacked by one Color, looking outward from the square and stopping at the first attacker. \n
+	 * Jumps and steps are checked before sliding rays, since they are cheaper.
+	 * @param square	Square from 0 - 63
+	 * @param byColor	Color of the attacking ChessPieces
+	 * @param occupied	Bitboard of tiles that block sliding ChessPieces
+	 * @return			true if at least one ChessPiece of byColor attacks the square
+	 */
+	public boolean isSquareAttacked(int square, Color byColor, long occupied){
+		long[] attackerBitboards = pieceBitboards[byColor.ordinal()];
+		Color ownColor = (byColor == Color.WHITE) ? Color.BLACK : Color.WHITE;	// a PAWN attacks this square from where our PAWN would attack
+		if ((AttackTables.pawnAttacks(ownColor, square) & attackerBitboards[Type.PAWN.ordinal()]) != 0)
+			return true;
+		if ((AttackTables.knightAttacks(square) & attackerBitboards[Type.KNIGHT.ordinal()]) != 0)
+			return true;
+		if ((AttackTables.centaurAttacks(square) & attackerBitboards[Type.CENTAUR.ordinal()]) != 0)
+			return true;
+		if ((AttackTables.kingAttacks(square) & attackerBitboards[Type.KING.ordinal()]) != 0)
+			return true;
+		
+		/* Sliding rays: only looked up if such a ChessPiece exists */
+		long queenLike  = attackerBitboards[Type.QUEEN.ordinal()] | attackerBitboards[Type.DECOY.ordinal()] | attackerBitboards[Type.SHAPESHIFTER.ordinal()];
+		long rookLike   = attackerBitboards[Type.ROOK.ordinal()]   | queenLike;
+		long bishopLike = attackerBitboards[Type.BISHOP.ordinal()] | queenLike;
+		long horizons   = attackerBitboards[Type.HORIZON.ordinal()];
+		if (rookLike != 0 && (AttackTables.rookAttacks(square, occupied) & rookLike) != 0)
+			return true;
+		if (bishopLike != 0 && (AttackTables.bishopAttacks(square, occupied) & bishopLike) != 0)
+			return true;
+		return horizons != 0 && (AttackTables.horizonAttacks(square, occupied) & horizons) != 0;
+	}
+	
+	/**
+	 * Static exchange evaluation: the material a capture wins or loses once both players have recaptured on its square,
+	 * each always with their least valuable ChessPiece, and each free to stop when going on would lose material. \n
+	 * No move is made. Attackers are looked up again after each capture, with the capturers taken off the occupied tiles,
+	 * so sliding ChessPieces lined up behind them (x-rays, including HORIZONS along a row) join in. Pins are ignored.
+	 * @param from	Square of the capturing ChessPiece
+	 * @param to	Square it captures on. If empty, the result tells whether the ChessPiece can safely move there.
+	 * @return		Material won by the player who captures first, in centipawns (see Evaluation). Negative if material is lost.
+	 */
+	public int staticExchange(int from, int to){
+		int[] gain = exchangeGains;
+		long fromBit = 1L << from;
+		int color = ((whitePieces & fromBit) != 0) ? Color.WHITE.ordinal() : Color.BLACK.ordinal();
+		int attacker = typeOn(color, from);
+		int victim 	 = typeOn(color ^ 1, to);
+		if (attacker < 0)
+			return 0;	// no ChessPiece on "from"
+		gain[0] = (victim < 0) ? 0 : exchangeValue(victim);
+		int attackerValue = exchangeValue(attacker);
+		long occupiedNow = occupied & ~fromBit;
+		
+		/* Each player in turn recaptures with their least valuable attacker */
+		int depth = 0;
+		while (true){
+			color ^= 1;
+			depth++;
+			gain[depth] = attackerValue - gain[depth - 1];	// if this player takes the last capturer
+			long attackers = attackersTo(to, (color == Color.WHITE.ordinal()) ? Color.WHITE : Color.BLACK, occupiedNow) & occupiedNow;
+			if (attackers == 0)
+				break;
+			long[] colorBitboards = pieceBitboards[color];
+			for (int type : exchangeOrder){
+				long pieces = colorBitboards[type] & attackers;
+				if (pieces != 0){
+					occupiedNow &= ~(pieces & -pieces);
+					attackerValue = exchangeValue(type);
+					break;
+				}
+			}
+		}
+		
+		/* Back up the swap list: each player either stops or recaptures, whichever is better for them */
+		while (--depth > 0)
+			gain[depth - 1] = -Math.max(-gain[depth - 1], gain[depth]);
+		return gain[0];
+	}
+	
 	/**
 	 * Simple helper function that calls updateWhiteInCheck() and updateBlackInCheck()
 	 */
@@ -177,57 +520,28 @@ public class ChessBoard{
 	 * Toggles playerTurn from WHITE to BLACK, and vice versa
 	 */
 	public void updateTurn(){
+		zobristKey ^= Zobrist.turn(playerTurn);
 		if (playerTurn == Color.WHITE)
 			playerTurn = Color.BLACK;
 		else
 			playerTurn = Color.WHITE;
+		zobristKey ^= Zobrist.turn(playerTurn);
 	}
 
 	/**
 	 * Determines if WHITE is in check. Updates boolean variable whiteInCheck
 	 */
 	public void updateWhiteInCheck(){
-		/* Loop through board */
-		for (int row = 0; row < rows; row++){
-			for (int column = 0; column < columns; column++){
-				/* If any piece is threatening white's king, player is in check */
-				ChessPiece otherPiece = tile[row][column];
-				if (otherPiece != null && otherPiece.color == Color.BLACK){
-					for (Point attackingPosition : otherPiece.moves.attackTiles){ 
-						if (attackingPosition.equals(whiteKing.position)){	//can't use " == " here since it compares addresses
-							whiteInCheck = true;
-							return;
-						}
-					}
-				}
-			}
-		}
-		whiteInCheck = false;		
+		whiteInCheck = kingAttacked(Color.WHITE);
 	}
 	
 	/**
 	 * Determines if BLACK is in check. Updates boolean variable blackInCheck
 	 */
 	public void updateBlackInCheck(){
-		ChessPiece otherPiece;
-		/* Loop through board */
-		for (int row = 0; row < rows; row++){
-			for (int column = 0; column < columns; column++){
-				/* If any piece is threatening black's king, player is in check */
-				otherPiece = tile[row][column];
-				if (otherPiece != null && otherPiece.color == Color.WHITE){
-					for (Point attackingPosition : otherPiece.moves.attackTiles){
-						if (attackingPosition.equals(blackKing.position)){	//can't use " == " here since it compares addresses
-							blackInCheck = true;
-							return;
-						}
-					}
-				}
-			}
-		}
-		blackInCheck = false;		
+		blackInCheck = kingAttacked(Color.BLACK);
 	}
-
+	
 	/**
 	 * Determines if Checkmate or Stalemate \n
 	 * Updates variables: gameEnded, stalemate
@@ -258,16 +572,7 @@ public class ChessBoard{
 	 * @return "true" if WHITE has no moves, "false" otherwise.
 	 */
 	public boolean whiteHasNoMoves(){
-		/* Loop through board */
-		for (int row = 0; row < rows; row++){
-			for (int column = 0; column < columns; column++){
-				ChessPiece possiblePiece = tile[row][column];
-				/* If there EXISTS a WHITE piece with a VALID MOVE */
-				if (possiblePiece != null && possiblePiece.color == Color.WHITE && possiblePiece.moves.validTiles.size() > 0)
-					return false;
-			}
-		}
-		return true;
+		return ! hasAnyLegalMove(Color.WHITE);
 	}
 	
 	/**
@@ -275,30 +580,32 @@ public class ChessBoard{
 	 * @return "true" if BLACK has no moves, "false" otherwise.
 	 */
 	public boolean blackHasNoMoves(){
-		/* Loop through board */
-		for (int row = 0; row < rows; row++){
-			for (int column = 0; column < columns; column++){
-				ChessPiece possiblePiece = tile[row][column];
-				/* If there exists a BLACK piece with a valid move */
-				if (possiblePiece != null && possiblePiece.color == Color.BLACK && possiblePiece.moves.validTiles.size() > 0)
-					return false;
-			}
-		}
-		return true;
-	}	
+		return ! hasAnyLegalMove(Color.BLACK);
+	}
 	
 	/**
-	 * Updates "Attack Tiles" for every ChessPiece on ChessBoard \n
+	 * Determines if a Color has at least one legal move, stopping at the first one found. \n
+	 * Does not need (or update) "Valid Tiles".
+	 * @param color		WHITE or BLACK
+	 * @return			"true" if the Color can move, "false" if it is checkmated or stalemated.
+	 */
+	public boolean hasAnyLegalMove(Color color){
+		moveGenerator.setup(this, color);
+		return moveGenerator.hasLegalMove();
+	}
+	
+	/**
+	 * Updates "Attack Tiles" for every ChessPiece on ChessBoard whose attacks changed since the last update: \n
+	 * ChessPieces that moved, and ChessPieces that attacked the tiles a move left or landed on. \n
 	 * Note: Usually called after movePiece()
 	 */
 	public void updateAttackTiles(){
-		for (int row = 0; row < rows; row++){
-			for (int column = 0; column < columns; column++){
-				ChessPiece currentPiece = tile[row][column];
-				if (currentPiece != null)
-					currentPiece.moves.setAttackTiles(this, currentPiece);
-			}
+		for (long stale = staleAttackTiles; stale != 0; stale &= stale - 1){
+			ChessPiece currentPiece = getPiece(Long.numberOfTrailingZeros(stale));
+			if (currentPiece != null)
+				currentPiece.moves.setAttackTiles(this, currentPiece);
 		}
+		staleAttackTiles = 0;
 	}
 	
 	/**
@@ -306,12 +613,10 @@ public class ChessBoard{
 	 * Note: Usually called after movePiece()
 	 */
 	public void updateAttackTilesOneColor(Color color){
-		for (int row = 0; row < rows; row++){
-			for (int column = 0; column < columns; column++){
-				ChessPiece currentPiece = tile[row][column];
-				if (currentPiece != null && currentPiece.color == color)
-					currentPiece.moves.setAttackTiles(this, currentPiece);
-			}
+		for (long pieces = colorBitboard(color); pieces != 0; pieces &= pieces - 1){
+			ChessPiece currentPiece = getPiece(Long.numberOfTrailingZeros(pieces));
+			if (currentPiece != null)
+				currentPiece.moves.setAttackTiles(this, currentPiece);
 		}
 	}
 	
@@ -320,13 +625,36 @@ public class ChessBoard{
 	 * Note: Usually called sometime after updateTurn()
 	 */
 	public void updateValidTiles(){
-		for (int row = 0; row < rows; row++){
-			for (int column = 0; column < columns; column++){
-				ChessPiece currentPiece = tile[row][column];
-				if (currentPiece != null)
-					currentPiece.moves.setValidTiles(this, currentPiece);
-			}
+		updateValidTilesOneColor(Color.WHITE);
+		updateValidTilesOneColor(Color.BLACK);
+	}
+	
+	/**
+	 * Updates "Valid Tiles" for every ChessPiece on ChessBoard of a certain Color. \n
+	 * Checks and pins are found once, and shared by every ChessPiece of that Color.
+	 * @param color		WHITE or BLACK
+	 */
+	public void updateValidTilesOneColor(Color color){
+		moveGenerator.setup(this, color);
+		for (long pieces = colorBitboard(color); pieces != 0; pieces &= pieces - 1){
+			ChessPiece currentPiece = getPiece(Long.numberOfTrailingZeros(pieces));
+			if (currentPiece != null)
+				currentPiece.moves.setValidTiles(moveGenerator, currentPiece);
 		}
+		if (color == Color.WHITE)
+			whiteValidTilesReady = true;
+		else
+			blackValidTilesReady = true;
+	}
+	
+	/**
+	 * Updates "Valid Tiles" for every ChessPiece of a certain Color, unless they are already up to date. \n
+	 * updateChessBoard() leaves "Valid Tiles" for later, so call this before reading them.
+	 * @param color		WHITE or BLACK
+	 */
+	public void requestValidTiles(Color color){
+		if (color == Color.WHITE ? ! whiteValidTilesReady : ! blackValidTilesReady)
+			updateValidTilesOneColor(color);
 	}
 	
 	/** 
@@ -338,6 +666,68 @@ public class ChessBoard{
 		return tile[point.y][point.x];
 	}
 	
+	/** 
+	 * Returns the ChessPiece on a bitboard square
+	 * @param square	Square from 0 - 63, equal to (8 * row + column)
+	 * @return			ChessPiece on that square. null if the tile is empty
+	 */
+	public ChessPiece getPiece(int square){
+		return tile[square >>> 3][square & 7];
+	}
+	
+	/**
+	 * Returns the Position of a bitboard square
+	 * @param square	Square from 0 - 63, equal to (8 * row + column)
+	 * @return			A shared Point. Do not modify it.
+	 */
+	public static Point point(int square){
+		return squarePoints[square];
+	}
+	
+	/**
+	 * Converts a Position to its bitboard square
+	 * @param pos	The Position to convert
+	 * @return		Square from 0 - 63, equal to (8 * row + column)
+	 */
+	public static int square(Point pos){
+		return (pos.y << 3) + pos.x;
+	}
+	
+	/**
+	 * Returns the bitboard of every tile holding a ChessPiece of a certain Color
+	 * @param color		WHITE or BLACK
+	 * @return			whitePieces or blackPieces
+	 */
+	public long colorBitboard(Color color){
+		if (color == Color.WHITE)
+			return whitePieces;
+		else
+			return blackPieces;
+	}
+	
+	/**
+	 * Rebuilds every bitboard and attack map from tile[][]. \n
+	 * movePiece() and placePiece() keep them in sync. Call this after writing to tile[][] directly.
+	 */
+	public void updateBitboards(){
+		pieceBitboards = new long[2][Type.values().length];
+		whitePieces = 0;
+		blackPieces = 0;
+		occupied    = 0;
+		zobristKey  = Zobrist.turn(playerTurn);
+		score 		= 0;
+		for (int row = 0; row < rows; row++){
+			for (int column = 0; column < columns; column++){
+				ChessPiece currentPiece = tile[row][column];
+				if (currentPiece != null)
+					addToBitboards(currentPiece);
+			}
+		}
+		java.util.Arrays.fill(attacksFrom, 0);
+		java.util.Arrays.fill(attackersTo, 0);
+		updateAttackMaps(occupied);
+	}
+	
 	/** 
 	 * Updates ChessBoard. Should be called after movePiece()
 	 */
@@ -346,8 +736,124 @@ public class ChessBoard{
 		 updateAttackTiles();
 		 updateInCheck();			//Updates: whiteInCheck blackInCheck.		Depends On: updateAttackTiles()
 		 updateTurn();				//Updates: playerTurn.
-		 updateValidTiles();
-		 updateGameStatus();		//Updates: gameEnded, staleMate.			Depends On: updateTurn(), updateValidTiles() 
+		 updateGameStatus();		//Updates: gameEnded, staleMate.			Depends On: updateTurn()
+		 /* "Valid Tiles" are left for requestValidTiles(), so nothing is generated for a side nobody asks about */
+	}
+	
+	/**
+	 * Private Helper function to set a ChessPiece's bit in the bitboards
+	 * @param piece		The ChessPiece to add. Uses its current type, color, and position
+	 */
+	private void addToBitboards(ChessPiece piece){
+		int square = square(piece.position);
+		long bit = 1L << square;
+		pieceBitboards[piece.color.ordinal()][piece.type.ordinal()] |= bit;
+		if (piece.color == Color.WHITE)
+			whitePieces |= bit;
+		else
+			blackPieces |= bit;
+		occupied |= bit;
+		zobristKey ^= Zobrist.piece(piece.color, piece.type, square);
+		score += Evaluation.pieceSquare(piece.color.ordinal(), piece.type.ordinal(), square);
+	}
+	
+	/**
+	 * Private Helper function to clear a ChessPiece's bit in the bitboards
+	 * @param piece		The ChessPiece to remove. Uses its current type, color, and position
+	 */
+	private void removeFromBitboards(ChessPiece piece){
+		int square = square(piece.position);
+		long mask = ~(1L << square);
+		pieceBitboards[piece.color.ordinal()][piece.type.ordinal()] &= mask;
+		if (piece.color == Color.WHITE)
+			whitePieces &= mask;
+		else
+			blackPieces &= mask;
+		occupied &= mask;
+		zobristKey ^= Zobrist.piece(piece.color, piece.type, square);
+		score -= Evaluation.pieceSquare(piece.color.ordinal(), piece.type.ordinal(), square);
+	}
+	
+	/**
+	 * Private Helper function to find which Type of ChessPiece of a Color is on a square, from the bitboards
+	 * @param color		Color.ordinal() of the ChessPiece
+	 * @param square	Square from 0 - 63
+	 * @return			Type.ordinal() of the ChessPiece. -1 if no ChessPiece of that Color is there.
+	 */
+	private int typeOn(int color, int square){
+		long bit = 1L << square;
+		long[] colorBitboards = pieceBitboards[color];
+		for (int type = 0; type < colorBitboards.length; type++)
+			if ((colorBitboards[type] & bit) != 0)
+				return type;
+		return -1;
+	}
+	
+	/**
+	 * Private Helper function to give a Type's value in staticExchange()
+	 * @param type		Type.ordinal()
+	 * @return			Its Evaluation value. A KING is worth more than everything else together.
+	 */
+	private static int exchangeValue(int type){
+		return (type == Type.KING.ordinal()) ? KING_EXCHANGE_VALUE : Evaluation.VALUES[type];
+	}
+	
+	/**
+	 * Private Helper function to find the squares whose attacks may change when a ChessPiece moves: \n
+	 * both squares of the move, and every ChessPiece that attacks or defends either of them. \n
+	 * Must be called before the move.
+	 * @param from	Square the ChessPiece moves from
+	 * @param to	Square the ChessPiece moves to
+	 * @return		Bitboard of affected squares
+	 */
+	private long affectedSquares(int from, int to){
+		return (1L << from) | (1L << to) | attackersTo[from] | attackersTo[to];
+	}
+	
+	/**
+	 * Private Helper function to recompute the attack maps of some squares, and mark their "Attack Tiles" stale
+	 * @param squares	Bitboard of the squares to recompute, from affectedSquares()
+	 */
+	private void updateAttackMaps(long squares){
+		staleAttackTiles |= squares;
+		whiteValidTilesReady = false;
+		blackValidTilesReady = false;
+		for (; squares != 0; squares &= squares - 1){
+			int square = Long.numberOfTrailingZeros(squares);
+			ChessPiece piece = getPiece(square);
+			long attacks = (piece == null) ? 0 : AttackTables.attacks(piece.type, piece.color, square, occupied);
+			long squareBit = 1L << square;
+			
+			/* Patch attackersTo[] only where this square's attacks changed */
+			for (long changed = attacks ^ attacksFrom[square]; changed != 0; changed &= changed - 1){
+				int target = Long.numberOfTrailingZeros(changed);
+				attackersTo[target] ^= squareBit;
+			}
+			attacksFrom[square] = attacks;
+		}
+	}
+	
+	/**
+	 * Private Helper function to clear a square in every bitboard, whichever ChessPiece is on it
+	 * @param square	Square from 0 - 63
+	 */
+	private void clearBitboards(int square){
+		long mask = ~(1L << square);
+		if ((occupied & ~mask) == 0)
+			return;
+		for (int color = 0; color < pieceBitboards.length; color++){
+			long[] colorBitboards = pieceBitboards[color];
+			for (int type = 0; type < colorBitboards.length; type++){
+				if ((colorBitboards[type] & ~mask) != 0){
+					colorBitboards[type] &= mask;
+					zobristKey ^= Zobrist.piece(color, type, square);
+					score -= Evaluation.pieceSquare(color, type, square);
+				}
+			}
+		}
+		whitePieces &= mask;
+		blackPieces &= mask;
+		occupied    &= mask;
 	}
 	
 	/**
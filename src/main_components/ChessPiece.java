@@ -1,7 +1,6 @@
 package main_components;
 
 import java.awt.Point;
-import javax.swing.ImageIcon;
 
 import piece_properties.*;
 
@@ -17,7 +16,8 @@ public class ChessPiece {
 	public Color color;			///< An enumerated type. "White, Black, None"
 	public Point position;		///< The Euclidean (x,y) position of a piece
 	public Moves moves;			///< The Attack and Valid Tiles for the ChessPiece on a ChessBoard
-	public ImageIcon image;		///< Lets us create images from PNGs
+	public Type disguiseType;	///< The Type a DECOY currently looks like. null if it looks like what it is. The View draws this.
+	public Color disguiseColor;	///< The Color a DECOY currently looks like. null if it looks like what it is.
 	
 	/**
 	 * Constructor. Also allocates new Moves object
@@ -30,7 +30,6 @@ public class ChessPiece {
 		position = pos;
 		color = col;
 		moves = new Moves(); // will then need to update board to get attacking and valid moves
-		initializeImage();
 	}
 	
 	/**
@@ -42,7 +41,8 @@ public class ChessPiece {
 		color    = otherPiece.color;
 		position = new Point(otherPiece.position);	//DEEP COPY
 		moves    = new Moves(); // will then need to update board to get attacking and valid moves
-		image = null;	// no need to copy image data in our implementation.
+		disguiseType  = otherPiece.disguiseType;
+		disguiseColor = otherPiece.disguiseColor;
 	}
 	
 	/**
@@ -55,75 +55,29 @@ public class ChessPiece {
 	}
 	
 	/**
-	 * Initializes an image for current ChessPiece
+	 * Randomly changes how a piece looks. The look may have the other Color. Only the View uses it.
+	 * @param random	Generator to draw from, such as the ChessBoard's
 	 */
-	public void initializeImage(){
-		if (color == Color.BLACK){
-			if (type == Type.QUEEN || type == Type.SHAPESHIFTER || type == Type.DECOY)
-				image = new ImageIcon("images/75px_black_queen.png");
-			else if (type == Type.PAWN)
-				image = new ImageIcon("images/75px_black_pawn.png");
-			else if (type == Type.ROOK)
-				image = new ImageIcon("images/75px_black_rook.png");
-			else if (type == Type.KNIGHT)
-				image = new ImageIcon("images/75px_black_knight.png");
-			else if (type == Type.BISHOP)
-				image = new ImageIcon("images/75px_black_bishop.png");
-			else if (type == Type.KING)
-				image = new ImageIcon("images/75px_black_king.png");
-			else if (type == Type.HORIZON)
-				image = new ImageIcon("images/75px_black_horizon.png");
-			else if (type == Type.CENTAUR)
-				image = new ImageIcon("images/75px_black_centaur.png");
-		}
-		else if (color == Color.WHITE){
-			if (type == Type.QUEEN || type == Type.SHAPESHIFTER || type == Type.DECOY)
-				image = new ImageIcon("images/75px_white_queen.png");
-			else if (type == Type.PAWN)
-				image = new ImageIcon("images/75px_white_pawn.png");
-			else if (type == Type.ROOK)
-				image = new ImageIcon("images/75px_white_rook.png");
-			else if (type == Type.KNIGHT)
-				image = new ImageIcon("images/75px_white_knight.png");
-			else if (type == Type.BISHOP)
-				image = new ImageIcon("images/75px_white_bishop.png");
-			else if (type == Type.KING)
-				image = new ImageIcon("images/75px_white_king.png");
-			else if (type == Type.HORIZON)
-				image = new ImageIcon("images/75px_white_horizon.png");
-			else if (type == Type.CENTAUR)
-				image = new ImageIcon("images/75px_white_centaur.png");
-		}
+	public void changeDisguiseRandomly(SeededRandom random){
+		int rand = random.nextInt(8);
+		disguiseColor = (rand < 4) ? Color.WHITE : Color.BLACK;
+		if (rand % 4 == 0)
+			disguiseType = Type.PAWN;
+		else if (rand % 4 == 1)
+			disguiseType = Type.ROOK;
+		else if (rand % 4 == 2)
+			disguiseType = Type.KNIGHT;
+		else
+			disguiseType = Type.BISHOP;
 	}
 	
 	/**
-	 * Randomly changes the icon of a piece. Color may change also.
+	 * Randomly changes a piece to another to either a ROOK, KNIGHT, BISHOP, or PAWN. Color will not change. \n
+	 * For a ChessPiece on a ChessBoard, call ChessBoard.transformPiece() instead, which keeps the bitboards in sync.
+	 * @param random	Generator to draw from, such as the ChessBoard's
 	 */
-	public void changeIconRandomly(){
-			int rand = (int) Math.random() * 8;
-			if (rand == 0)
-				image = new ImageIcon("images/75px_White_Pawn.png");
-			else if (rand == 1)
-				image = new ImageIcon("images/75px_White_Rook.png");
-			else if (rand == 2)
-				image = new ImageIcon("images/75px_White_Knight.png");
-			else if (rand == 3)
-				image = new ImageIcon("images/75px_White_Bishop.png");
-			else if (rand == 4)
-				image = new ImageIcon("images/75px_Black_Pawn.png");
-			else if (rand == 5)
-				image = new ImageIcon("images/75px_Black_Rook.png");
-			else if (rand == 6)
-				image = new ImageIcon("images/75px_Black_Knight.png");
-			else if (rand == 7)
-				image = new ImageIcon("images/75px_Black_Bishop.png");
-	}
-	
-	/**
-	 * Randomly changes a piece to another to either a ROOK, KNIGHT, BISHOP, or PAWN. Color will not change.
-	 */
-	public void changeTypeRandomly(){
-		int rand = (int) (Math.random() * 4);
+	public void changeTypeRandomly(SeededRandom random){
+		int rand = random.nextInt(4);
 		if (rand == 0)
 			type = Type.ROOK;
 		else if (rand == 1)
@@ -132,6 +86,5 @@ public class ChessPiece {
 			type = Type.KNIGHT;
 		else if (rand == 3)
 			type = Type.BISHOP;
-		initializeImage();
 	}
 }
\ No newline at end of file
@@ -2,42 +2,46 @@ package main_components;
 
 import java.awt.Point;
 
-import javax.swing.ImageIcon;
-import javax.swing.JButton;
-
 /**
  * \brief
- * A representation of a move on a ChessBoard
+ * A representation of a move on a ChessBoard. Only changes the model; a CommandListener (such as the View) may redraw after.
  * @author Rodney Shaghoulian
  */
 public class Command {
 	ChessBoard chessBoard;		///< the current ChessBoard the game is being played on
-	View view;					///< the View of our ChessBoard
+	CommandListener listener;	///< told after the ChessBoard changes. null if nobody is listening
 	Point origin;				///< the origin of the moving ChessPiece
 	Point destination;			///< the destination of the moving ChessPiece
 	
-	ImageIcon imageOrigin;		///< the image associated with the moving ChessPiece's original position
-	ImageIcon imageDestination;	///< the image associated with the moving ChessPiece's destination position
 	ChessPiece capturedPiece;	///< the ChessPiece that may be captured. We save it in case a user wants to "undo" a move
+	ChessPiece pieceBefore;		///< copy of the moving ChessPiece before its first move, so "undo" turns a SHAPESHIFTER or DECOY back
+	ChessPiece pieceAfter;		///< copy of the moving ChessPiece after its first move, so "redo" repeats the same change. null until then
+	long randomBefore;			///< ChessBoard's random.state before the first move, so "undo" rewinds it
+	long randomAfter;			///< ChessBoard's random.state after the first move, so "redo" moves it forward again
+	
+	/**
+	 * A representation of a "Move" command, without a GUI
+	 * @param chessBoard	The ChessBoard we are moving the ChessPiece on
+	 * @param origin		The origin of the moving ChessPiece
+	 * @param destination	The destination of the moving ChessPiece
+	 */
+	public Command(ChessBoard chessBoard, Point origin, Point destination){
+		this(chessBoard, null, origin, destination);
+	}
 	
 	/**
 	 * A representation of a "Move" command
 	 * @param chessBoard	The ChessBoard we are moving the ChessPiece on
-	 * @param view			The View representation of current ChessBoard
+	 * @param listener		Told after the move is executed or undone, such as the View of current ChessBoard. May be null.
 	 * @param origin		The origin of the moving ChessPiece
 	 * @param destination	The destination of the moving ChessPiece
 	 */
-	public Command(ChessBoard chessBoard, View view, Point origin, Point destination){
+	public Command(ChessBoard chessBoard, CommandListener listener, Point origin, Point destination){
 		this.chessBoard  = chessBoard;
-		this.view 		 = view;
+		this.listener 	 = listener;
 		this.origin 	 = origin;
 		this.destination = destination;
 		
-		JButton originalButton    = view.getButton(origin);
-		JButton destinationButton = view.getButton(destination);
-		imageOrigin      = (ImageIcon) originalButton.getIcon();
-		imageDestination = (ImageIcon) destinationButton.getIcon();
-		
 		ChessPiece possiblePiece = chessBoard.getPiece(destination);
 		if (possiblePiece != null)
 			capturedPiece = new ChessPiece(possiblePiece);
@@ -49,15 +53,25 @@ public class Command {
 	public void execute() {
 		/* Update Model */
 		ChessPiece originPiece = chessBoard.getPiece(origin);
+		if (pieceBefore == null)
+			pieceBefore = new ChessPiece(originPiece);
 		chessBoard.movePiece(originPiece, destination);
+		
+		/* SHAPESHIFTER and DECOY pieces change only on moves that are really played. A redo repeats the first change. */
+		if (pieceAfter == null){
+			randomBefore = chessBoard.random.state;
+			chessBoard.transformPiece(originPiece);
+			pieceAfter  = new ChessPiece(originPiece);
+			randomAfter = chessBoard.random.state;
+		}
+		else {
+			restoreLook(originPiece, pieceAfter);
+			chessBoard.random.state = randomAfter;
+		}
 		chessBoard.updateChessBoard();
 		/* Update View */
-		Button originButton = view.getButton(origin);
-		Button destinationButton = view.getButton(destination);
-		view.setIcon(null, originButton);
-		view.setIcon(imageOrigin, destinationButton);
-		
-		view.updateButtons();
+		if (listener != null)
+			listener.commandExecuted(this);
 	}
 	
 	/**
@@ -67,15 +81,24 @@ public class Command {
 		/* Update Model */
 		ChessPiece destinationPiece = chessBoard.getPiece(destination);
 		chessBoard.movePiece(destinationPiece, origin);
+		restoreLook(destinationPiece, pieceBefore);
+		chessBoard.random.state = randomBefore;
 		if (capturedPiece != null)
-			chessBoard.tile[destination.y][destination.x] = capturedPiece;
+			chessBoard.placePiece(capturedPiece);
 		chessBoard.updateChessBoard();
 		/* Update View */
-		Button originButton = view.getButton(origin);
-		Button destinationButton = view.getButton(destination);
-		view.setIcon(imageOrigin, originButton);
-		view.setIcon(imageDestination, destinationButton);
-		
-		view.updateButtons();
+		if (listener != null)
+			listener.commandUndone(this);
+	}
+	
+	/**
+	 * Private Helper function to give a ChessPiece the Type and disguise of a saved copy
+	 * @param piece		ChessPiece on the ChessBoard
+	 * @param saved		Copy of how it should be
+	 */
+	private void restoreLook(ChessPiece piece, ChessPiece saved){
+		chessBoard.changeType(piece, saved.type);
+		piece.disguiseType  = saved.disguiseType;
+		piece.disguiseColor = saved.disguiseColor;
 	}
 }
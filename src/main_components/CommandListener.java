@@ -0,0 +1,20 @@
+package main_components;
+
+/**
+ * \brief
+ * Gets told when a Command changes the ChessBoard, so a GUI can redraw. Commands work without one.
+ * @author Rodney Shaghoulian
+ */
+public interface CommandListener {
+	/**
+	 * Called after a Command is executed (or redone)
+	 * @param command	The Command. Its origin is now empty.
+	 */
+	void commandExecuted(Command command);
+	
+	/**
+	 * Called after a Command is undone
+	 * @param command	The Command. Its destination holds the captured ChessPiece again, if there was one.
+	 */
+	void commandUndone(Command command);
+}
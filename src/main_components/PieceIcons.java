@@ -0,0 +1,52 @@
+package main_components;
+
+import javax.swing.ImageIcon;
+
+import piece_properties.Color;
+import piece_properties.Type;
+
+/**
+ * \brief
+ * Flyweight cache of the ChessPiece images, for the View. \n
+ * Each image is read and decoded once, when this class loads, and every Button showing it shares the same ImageIcon.
+ * The ChessBoard and its ChessPieces never touch images, so no move, real or virtual, waits on the disk.
+ * @author Rodney Shaghoulian
+ */
+public final class PieceIcons {
+	/** One ImageIcon per Color and drawn Type: icons[color.ordinal()][type.ordinal()]. null for Types drawn as another Type. */
+	private static final ImageIcon[][] icons = new ImageIcon[2][Type.values().length];
+	static {
+		for (Color color : new Color[]{Color.WHITE, Color.BLACK})
+			for (Type type : Type.values())
+				if (type != Type.SHAPESHIFTER && type != Type.DECOY)
+					icons[color.ordinal()][type.ordinal()] = new ImageIcon("images/75px_" + color.name().toLowerCase() + "_" + type.name().toLowerCase() + ".png");
+	}
+
+	/** Private Constructor: only static helpers */
+	private PieceIcons(){
+	}
+
+	/**
+	 * Finds the image for a ChessPiece. A disguised DECOY gets the image of what it looks like.
+	 * SHAPESHIFTERS and undisguised DECOYS look like QUEENS.
+	 * @param piece		ChessPiece to draw
+	 * @return			Its shared ImageIcon. Never modify it.
+	 */
+	public static ImageIcon get(ChessPiece piece){
+		Type type   = (piece.disguiseType  != null) ? piece.disguiseType  : piece.type;
+		Color color = (piece.disguiseColor != null) ? piece.disguiseColor : piece.color;
+		return get(color, type);
+	}
+
+	/**
+	 * Finds the image for a Color and Type
+	 * @param color		WHITE or BLACK
+	 * @param type		Any Type. SHAPESHIFTER and DECOY look like QUEENS.
+	 * @return			Its shared ImageIcon. Never modify it.
+	 */
+	public static ImageIcon get(Color color, Type type){
+		if (type == Type.SHAPESHIFTER || type == Type.DECOY)
+			type = Type.QUEEN;
+		return icons[color.ordinal()][type.ordinal()];
+	}
+}
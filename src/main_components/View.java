@@ -12,7 +12,7 @@ import java.awt.event.MouseListener;
  * The "View" for MVC (Model - View - Controller)
  * @author Rodney Shaghoulian
  */
-public class View{
+public class View implements CommandListener{
 	public ChessBoard chessBoard;					///< The view has access to the ChessBoard
 	public Controller controller;					///< The view has access to the Controller
 	public JFrame frame;							///< We will put a JPanel (which contains 64 JButtons) on this
@@ -83,7 +83,7 @@ public class View{
 				ChessPiece currentPiece = chessBoard.tile[row][column];
 				Button currentButton = button[row][column];
 				if (currentPiece != null)
-					currentButton.setIcon(currentPiece.image);
+					currentButton.setIcon(PieceIcons.get(currentPiece));
 				
 				/* Set bounds for the button */
 				int xPositionGUI = getXPositionGUI(column);
@@ -311,6 +311,33 @@ public class View{
 		return button[point.y][point.x];
 	}
 	
+	/**
+	 * Redraws both tiles of a Command after it is executed
+	 * @param command	The Command that was executed
+	 */
+	public void commandExecuted(Command command){
+		updateIcon(command.origin);
+		updateIcon(command.destination);
+		updateButtons();
+	}
+	
+	/**
+	 * Redraws both tiles of a Command after it is undone
+	 * @param command	The Command that was undone
+	 */
+	public void commandUndone(Command command){
+		commandExecuted(command);
+	}
+	
+	/**
+	 * Sets the ImageIcon of a tile's Button from the ChessPiece on that tile
+	 * @param point		Point of the tile
+	 */
+	public void updateIcon(Point point){
+		ChessPiece piece = chessBoard.getPiece(point);
+		setIcon((piece == null) ? null : PieceIcons.get(piece), getButton(point));
+	}
+	
 	/**
 	 * Updates the ImageIcon for a Button
 	 * @param image		Our new desired ImageIcon
@@ -0,0 +1,329 @@
+package piece_properties;
+
+/**
+ * \brief
+ * Precomputed attack bitboards. Bit (8 * row + column) represents tile[row][column] on an 8x8 ChessBoard. \n
+ * Sliding attacks use "magic bitboards": the blockers on a ChessPiece's rays are multiplied by a magic number,
+ * and the top bits of the product index a table holding the attack set for that exact arrangement of blockers. \n
+ * Jumping and stepping ChessPieces (KNIGHT, KING, CENTAUR, PAWN) have one attack set per square.
+ * @author Rodney Shaghoulian
+ */
+public final class AttackTables {
+	/* Data */
+	private static final long[] rookMasks    = new long[64];	///< Relevant blocker squares for a ROOK on each square (board edges excluded)
+	private static final long[] bishopMasks  = new long[64];	///< Relevant blocker squares for a BISHOP on each square (board edges excluded)
+	private static final int[]  rookShifts   = new int[64];		///< 64 minus the number of relevant ROOK blocker squares
+	private static final int[]  bishopShifts = new int[64];		///< 64 minus the number of relevant BISHOP blocker squares
+	private static final long[][] rookTable   = new long[64][];	///< ROOK attack sets, indexed by square and then by magic index
+	private static final long[][] bishopTable = new long[64][];	///< BISHOP attack sets, indexed by square and then by magic index
+	private static final long[] rankMasks    = new long[64];	///< Every square on the same row as each square
+	private static final long[] knightTable  = new long[64];	///< KNIGHT attack set on each square
+	private static final long[] kingTable    = new long[64];	///< KING attack set on each square
+	private static final long[] centaurTable = new long[64];	///< CENTAUR attack set on each square
+	private static final long[][] pawnTable  = new long[2][64];	///< PAWN attack set on each square: pawnTable[color.ordinal()][square]
+	private static final long[][] betweenTable = new long[64][64];	///< Squares strictly between 2 squares on a shared row, column, or diagonal
+	private static final long[][] lineTable    = new long[64][64];	///< Whole row, column, or diagonal through 2 squares
+
+	/** Magic multiplier for a ROOK on each square. Found once with a seeded random search for sparse numbers that map without collisions. */
+	private static final long[] rookMagics = {
+		0x2080002080400010L, 0x00C0002001401000L, 0x2100110008402002L, 0x0880080081041000L,
+		0x0200020020041008L, 0x2300040008010012L, 0x0C00283004008201L, 0x0180010000407A80L,
+		0x0168800080400020L, 0x0010400040201000L, 0x1001002001001048L, 0x1001002408100100L,
+		0x0801000408010012L, 0x4001000209000400L, 0x08A20004C8020001L, 0x2002801145002280L,
+		0x0080860021004200L, 0x001000C009402002L, 0x00B0002004002800L, 0x100A808010020800L,
+		0x9400808004000800L, 0x0090808004000200L, 0x0000040010810208L, 0x2000020000448534L,
+		0x4104400480008033L, 0x0000810100204000L, 0x0440430900200010L, 0x4600240900100100L,
+		0x0804080100110004L, 0x0001000300080400L, 0x0004084400011002L, 0x0023040200008041L,
+		0x0580050043002080L, 0x0400804002802008L, 0x0001002001004010L, 0x0080200A02001040L,
+		0x600D480280802400L, 0x400B800201800C00L, 0x2408211004004208L, 0x0200211082000844L,
+		0x0020804010208000L, 0x5030004020104000L, 0xA042084080220010L, 0x4088080010008080L,
+		0x5002080100110004L, 0x2012002010040400L, 0x0040318210440008L, 0x0120941040820001L,
+		0x1000800100402100L, 0x0040002010004840L, 0x8108450020001900L, 0x0200204008120200L,
+		0x0080800C00180180L, 0x0885000400420900L, 0x230802011008C400L, 0x3801740891432200L,
+		0x0A00250212024082L, 0x0000882040001105L, 0x0042102082000A42L, 0xC401210810000501L,
+		0x0241001002480005L, 0x0081000400880241L, 0x0000009008024124L, 0x0048122980410402L
+	};
+
+	/** Magic multiplier for a BISHOP on each square. Found the same way as rookMagics. */
+	private static final long[] bishopMagics = {
+		0x1862221006220044L, 0x2104A14202020060L, 0x2804081220444001L, 0x2102408900010001L,
+		0x0002021000040002L, 0x08C3100805004300L, 0x1084040124920050L, 0x8900440043382010L,
+		0x2401410802140040L, 0x0901200454208020L, 0x0000090216020541L, 0x1283844040800804L,
+		0x0521840420000803L, 0x0800010402400C40L, 0x0000408E10100404L, 0x0009810048420800L,
+		0x2004211004286808L, 0x13080A1001380080L, 0x0008801004220020L, 0x0024000802480800L,
+		0x1461001190400401L, 0x0020400200500440L, 0x0003000409019000L, 0x000C20820D011802L,
+		0x000804002164100CL, 0x00048400A0011404L, 0x5018110308044100L, 0x0048A00804010020L,
+		0x0007840000802000L, 0x8808A20075004220L, 0x8014040000822100L, 0x110C03000E251101L,
+		0x0081094820202010L, 0x0008041000044100L, 0x00C1202808940800L, 0x8108100821040400L,
+		0x1240010010010041L, 0x0810004080011000L, 0x00A20C0401804A00L, 0x40014C0020050500L,
+		0x5805082012042480L, 0x2004022144031000L, 0x2082002024204808L, 0x0800004200800800L,
+		0x0410020204100A02L, 0x80C1204080804101L, 0x0010104E01800042L, 0x000800810C400208L,
+		0x100080B008201210L, 0x8000440605112101L, 0x000202008C440040L, 0x9004002210442200L,
+		0x2032014088222045L, 0x0C00202222C20000L, 0x0140040820A50100L, 0x0222104C29024018L,
+		0x0200110121202004L, 0x0800104200B00802L, 0x0000401424020801L, 0x4000000004208840L,
+		0x0802E00040104100L, 0x03000020A0424080L, 0x0011C00408188121L, 0x0848020822040013L
+	};
+
+	private static final int[][] rookDirections   = {{-1, 0}, {1, 0}, {0, -1}, {0, 1}};		///< (x, y) steps for left, right, down, up
+	private static final int[][] bishopDirections = {{-1, 1}, {1, 1}, {-1, -1}, {1, -1}};	///< (x, y) steps for NW, NE, SW, SE
+	private static final int[][] knightJumps  = {{-1, -2}, {-1, 2}, {1, -2}, {1, 2}, {-2, -1}, {-2, 1}, {2, -1}, {2, 1}};	///< (x, y) jumps of a KNIGHT
+	private static final int[][] kingSteps    = {{-1, -1}, {-1, 0}, {-1, 1}, {0, 1}, {1, 1}, {1, 0}, {1, -1}, {0, -1}};	///< (x, y) steps of a KING
+	private static final int[][] centaurJumps = {{-1, -3}, {-1, 3}, {1, -3}, {1, 3}, {-3, -1}, {-3, 1}, {3, -1}, {3, 1}};	///< (x, y) 1x3 jumps of a CENTAUR
+	private static final int[][] whitePawnAttacks = {{-1, 1}, {1, 1}};		///< (x, y) diagonal attacks of a WHITE PAWN
+	private static final int[][] blackPawnAttacks = {{-1, -1}, {1, -1}};	///< (x, y) diagonal attacks of a BLACK PAWN
+
+	static {
+		for (int square = 0; square < 64; square++){
+			rankMasks[square] = 0xFFL << (square & ~7);
+			rookMasks[square]   = slidingAttacks(square, 0, rookDirections)   & ~edges(square);
+			bishopMasks[square] = slidingAttacks(square, 0, bishopDirections) & ~edges(square);
+			rookShifts[square]   = fillTable(square, rookMasks[square], rookMagics[square], rookDirections, rookTable);
+			bishopShifts[square] = fillTable(square, bishopMasks[square], bishopMagics[square], bishopDirections, bishopTable);
+			knightTable[square]  = leaperAttacks(square, knightJumps);
+			kingTable[square]    = leaperAttacks(square, kingSteps);
+			centaurTable[square] = leaperAttacks(square, centaurJumps);
+			pawnTable[Color.WHITE.ordinal()][square] = leaperAttacks(square, whitePawnAttacks);
+			pawnTable[Color.BLACK.ordinal()][square] = leaperAttacks(square, blackPawnAttacks);
+		}
+		for (int a = 0; a < 64; a++){
+			for (int b = 0; b < 64; b++){
+				long bits = (1L << a) | (1L << b);
+				if (a != b && (rookAttacks(a, 0) & (1L << b)) != 0){
+					betweenTable[a][b] = rookAttacks(a, 1L << b) & rookAttacks(b, 1L << a);
+					lineTable[a][b]    = (rookAttacks(a, 0) & rookAttacks(b, 0)) | bits;
+				}
+				else if (a != b && (bishopAttacks(a, 0) & (1L << b)) != 0){
+					betweenTable[a][b] = bishopAttacks(a, 1L << b) & bishopAttacks(b, 1L << a);
+					lineTable[a][b]    = (bishopAttacks(a, 0) & bishopAttacks(b, 0)) | bits;
+				}
+			}
+		}
+	}
+
+	/** Static class. No instances. */
+	private AttackTables(){
+	}
+
+	/**
+	 * Attack set of a ROOK. Includes the first blocker on each ray, whatever its Color.
+	 * @param square	Square of the ROOK
+	 * @param occupied	Bitboard of every occupied tile
+	 * @return			Bitboard of attacked tiles
+	 */
+	public static long rookAttacks(int square, long occupied){
+		return rookTable[square][(int) (((occupied & rookMasks[square]) * rookMagics[square]) >>> rookShifts[square])];
+	}
+
+	/**
+	 * Attack set of a BISHOP. Includes the first blocker on each ray, whatever its Color.
+	 * @param square	Square of the BISHOP
+	 * @param occupied	Bitboard of every occupied tile
+	 * @return			Bitboard of attacked tiles
+	 */
+	public static long bishopAttacks(int square, long occupied){
+		return bishopTable[square][(int) (((occupied & bishopMasks[square]) * bishopMagics[square]) >>> bishopShifts[square])];
+	}
+
+	/**
+	 * Attack set of a QUEEN, DECOY, or SHAPESHIFTER (before it shapeshifts)
+	 * @param square	Square of the ChessPiece
+	 * @param occupied	Bitboard of every occupied tile
+	 * @return			Bitboard of attacked tiles
+	 */
+	public static long queenAttacks(int square, long occupied){
+		return rookAttacks(square, occupied) | bishopAttacks(square, occupied);
+	}
+
+	/**
+	 * Attack set of a HORIZON, which only slides left and right
+	 * @param square	Square of the HORIZON
+	 * @param occupied	Bitboard of every occupied tile
+	 * @return			Bitboard of attacked tiles
+	 */
+	public static long horizonAttacks(int square, long occupied){
+		return rookAttacks(square, occupied) & rankMasks[square];
+	}
+
+	/**
+	 * Attack set of any sliding ChessPiece
+	 * @param type		ROOK, BISHOP, QUEEN, HORIZON, DECOY, or SHAPESHIFTER
+	 * @param square	Square of the ChessPiece
+	 * @param occupied	Bitboard of every occupied tile
+	 * @return			Bitboard of attacked tiles. 0 for a Type that does not slide.
+	 */
+	public static long slidingAttacks(Type type, int square, long occupied){
+		switch (type){
+			case ROOK:
+				return rookAttacks(square, occupied);
+			case BISHOP:
+				return bishopAttacks(square, occupied);
+			case QUEEN:
+			case DECOY:
+			case SHAPESHIFTER:
+				return queenAttacks(square, occupied);
+			case HORIZON:
+				return horizonAttacks(square, occupied);
+			default:
+				return 0;
+		}
+	}
+
+	/**
+	 * Attack set of a KNIGHT
+	 * @param square	Square of the KNIGHT
+	 * @return			Bitboard of attacked tiles
+	 */
+	public static long knightAttacks(int square){
+		return knightTable[square];
+	}
+
+	/**
+	 * Attack set of a KING
+	 * @param square	Square of the KING
+	 * @return			Bitboard of attacked tiles
+	 */
+	public static long kingAttacks(int square){
+		return kingTable[square];
+	}
+
+	/**
+	 * Attack set of a CENTAUR (1x3 jumps)
+	 * @param square	Square of the CENTAUR
+	 * @return			Bitboard of attacked tiles
+	 */
+	public static long centaurAttacks(int square){
+		return centaurTable[square];
+	}
+
+	/**
+	 * Diagonal attack set of a PAWN
+	 * @param color		WHITE attacks up the board, BLACK attacks down the board
+	 * @param square	Square of the PAWN
+	 * @return			Bitboard of attacked tiles
+	 */
+	public static long pawnAttacks(Color color, int square){
+		return pawnTable[color.ordinal()][square];
+	}
+
+	/**
+	 * Squares strictly between 2 squares, used to block a check
+	 * @param a		First square
+	 * @param b		Second square
+	 * @return		Bitboard of the squares between them. 0 if they don't share a row, column, or diagonal
+	 */
+	public static long between(int a, int b){
+		return betweenTable[a][b];
+	}
+
+	/**
+	 * The whole row, column, or diagonal through 2 squares, used to keep a pinned ChessPiece on its pin
+	 * @param a		First square
+	 * @param b		Second square
+	 * @return		Bitboard of the line, edge to edge. 0 if they don't share a row, column, or diagonal
+	 */
+	public static long line(int a, int b){
+		return lineTable[a][b];
+	}
+
+	/**
+	 * Attack set of any ChessPiece
+	 * @param type		Type of the ChessPiece
+	 * @param color		Color of the ChessPiece (only matters for PAWNS)
+	 * @param square	Square of the ChessPiece
+	 * @param occupied	Bitboard of every occupied tile (only matters for sliding ChessPieces)
+	 * @return			Bitboard of attacked tiles, including tiles of its own Color
+	 */
+	public static long attacks(Type type, Color color, int square, long occupied){
+		switch (type){
+			case PAWN:
+				return pawnAttacks(color, square);
+			case KNIGHT:
+				return knightAttacks(square);
+			case KING:
+				return kingAttacks(square);
+			case CENTAUR:
+				return centaurAttacks(square);
+			default:
+				return slidingAttacks(type, square, occupied);
+		}
+	}
+
+	/**********************************/
+	/* Functions to build the tables  */
+	/**********************************/
+
+	/**
+	 * Walks every ray one square at a time. Only used to build the tables.
+	 * @param square		Square of the sliding ChessPiece
+	 * @param occupied		Bitboard of every occupied tile
+	 * @param directions	(x, y) steps, one per ray
+	 * @return				Bitboard of attacked tiles
+	 */
+	private static long slidingAttacks(int square, long occupied, int[][] directions){
+		long attacks = 0;
+		for (int[] direction : directions){
+			int x = (square & 7) + direction[0];
+			int y = (square >>> 3) + direction[1];
+			while (x >= 0 && x < 8 && y >= 0 && y < 8){
+				long bit = 1L << ((y << 3) + x);
+				attacks |= bit;
+				if ((occupied & bit) != 0)
+					break;
+				x += direction[0];
+				y += direction[1];
+			}
+		}
+		return attacks;
+	}
+
+	/**
+	 * Applies every jump or step once. Only used to build the tables.
+	 * @param square	Square of the jumping ChessPiece
+	 * @param jumps		(x, y) offsets
+	 * @return			Bitboard of attacked tiles that are on the ChessBoard
+	 */
+	private static long leaperAttacks(int square, int[][] jumps){
+		long attacks = 0;
+		for (int[] jump : jumps){
+			int x = (square & 7) + jump[0];
+			int y = (square >>> 3) + jump[1];
+			if (x >= 0 && x < 8 && y >= 0 && y < 8)
+				attacks |= 1L << ((y << 3) + x);
+		}
+		return attacks;
+	}
+
+	/**
+	 * Edge squares that can never block a ray starting on this square
+	 * @param square	Square of the sliding ChessPiece
+	 * @return			Bitboard of the outer rows and columns the square is not on
+	 */
+	private static long edges(int square){
+		long rowEdges    = (0xFFL | (0xFFL << 56)) & ~rankMasks[square];
+		long columnEdges = (0x0101010101010101L | 0x8080808080808080L) & ~(0x0101010101010101L << (square & 7));
+		return rowEdges | columnEdges;
+	}
+
+	/**
+	 * Fills the attack table of one square, placing the attack set for every blocker arrangement at its magic index
+	 * @param square		Square of the sliding ChessPiece
+	 * @param mask			Relevant blocker squares
+	 * @param magic			Magic multiplier for this square
+	 * @param directions	(x, y) steps, one per ray
+	 * @param table			Receives the filled attack table
+	 * @return				The shift used to turn the magic product into an index
+	 */
+	private static int fillTable(int square, long mask, long magic, int[][] directions, long[][] table){
+		int bits = Long.bitCount(mask);
+		table[square] = new long[1 << bits];
+
+		/* Enumerate every subset of the mask ("Carry-Rippler" trick) */
+		long blockers = 0;
+		do {
+			int index = (int) ((blockers * magic) >>> (64 - bits));
+			table[square][index] = slidingAttacks(square, blockers, directions);
+			blockers = (blockers - mask) & mask;
+		} while (blockers != 0);
+		return 64 - bits;
+	}
+}
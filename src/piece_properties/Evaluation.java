@@ -0,0 +1,189 @@
+package piece_properties;
+
+import main_components.ChessBoard;
+
+/**
+ * \brief
+ * Static evaluation of a ChessBoard: what each side's ChessPieces are worth, in centipawns (a PAWN is 100). \n
+ * A ChessPiece is worth its Type's value plus a piece-square bonus for where it stands.
+ * The ChessBoard keeps the sum up to date as ChessPieces move (see ChessBoard.score), so evaluate() is O(1).
+ * @author Rodney Shaghoulian
+ */
+public final class Evaluation {
+	/**
+	 * Value of each Type, indexed by Type.ordinal(). \n
+	 * A HORIZON is a ROOK that can never leave its row. A CENTAUR jumps 1x3, so like a BISHOP it only reaches tiles of one shade.
+	 * A SHAPESHIFTER moves like a QUEEN only until its first move, then turns into a ROOK, PAWN, KNIGHT, or BISHOP.
+	 * A DECOY moves like a QUEEN for good. The KING is never captured, so it is worth nothing here.
+	 */
+	public static final int[] VALUES = {
+		100,	// PAWN
+		500,	// ROOK
+		320,	// KNIGHT
+		330,	// BISHOP
+		900,	// QUEEN
+		0,		// KING
+		250,	// HORIZON
+		270,	// CENTAUR
+		600,	// SHAPESHIFTER
+		900		// DECOY
+	};
+
+	/**
+	 * Piece-square bonuses for WHITE, indexed by Type.ordinal() then square. \n
+	 * Each table is drawn as WHITE sees the board: row 7 on top, row 0 at the bottom. BLACK uses the same tables upside down.
+	 */
+	private static final int[][] TABLES = {
+		{	// PAWN: advance, and hold the center
+			 0,  0,  0,  0,  0,  0,  0,  0,
+			50, 50, 50, 50, 50, 50, 50, 50,
+			10, 10, 20, 30, 30, 20, 10, 10,
+			 5,  5, 10, 25, 25, 10,  5,  5,
+			 0,  0,  0, 20, 20,  0,  0,  0,
+			 5, -5,-10,  0,  0,-10, -5,  5,
+			 5, 10, 10,-20,-20, 10, 10,  5,
+			 0,  0,  0,  0,  0,  0,  0,  0 },
+		{	// ROOK: the 7th row, and central columns
+			 0,  0,  0,  0,  0,  0,  0,  0,
+			 5, 10, 10, 10, 10, 10, 10,  5,
+			-5,  0,  0,  0,  0,  0,  0, -5,
+			-5,  0,  0,  0,  0,  0,  0, -5,
+			-5,  0,  0,  0,  0,  0,  0, -5,
+			-5,  0,  0,  0,  0,  0,  0, -5,
+			-5,  0,  0,  0,  0,  0,  0, -5,
+			 0,  0,  0,  5,  5,  0,  0,  0 },
+		{	// KNIGHT: the center, never the rim
+			-50,-40,-30,-30,-30,-30,-40,-50,
+			-40,-20,  0,  0,  0,  0,-20,-40,
+			-30,  0, 10, 15, 15, 10,  0,-30,
+			-30,  5, 15, 20, 20, 15,  5,-30,
+			-30,  0, 15, 20, 20, 15,  0,-30,
+			-30,  5, 10, 15, 15, 10,  5,-30,
+			-40,-20,  0,  5,  5,  0,-20,-40,
+			-50,-40,-30,-30,-30,-30,-40,-50 },
+		{	// BISHOP: long diagonals, away from corners
+			-20,-10,-10,-10,-10,-10,-10,-20,
+			-10,  0,  0,  0,  0,  0,  0,-10,
+			-10,  0,  5, 10, 10,  5,  0,-10,
+			-10,  5,  5, 10, 10,  5,  5,-10,
+			-10,  0, 10, 10, 10, 10,  0,-10,
+			-10, 10, 10, 10, 10, 10, 10,-10,
+			-10,  5,  0,  0,  0,  0,  5,-10,
+			-20,-10,-10,-10,-10,-10,-10,-20 },
+		{	// QUEEN: mildly central
+			-20,-10,-10, -5, -5,-10,-10,-20,
+			-10,  0,  0,  0,  0,  0,  0,-10,
+			-10,  0,  5,  5,  5,  5,  0,-10,
+			 -5,  0,  5,  5,  5,  5,  0, -5,
+			  0,  0,  5,  5,  5,  5,  0, -5,
+			-10,  5,  5,  5,  5,  5,  0,-10,
+			-10,  0,  5,  0,  0,  0,  0,-10,
+			-20,-10,-10, -5, -5,-10,-10,-20 },
+		{	// KING: stay home, in a corner
+			-30,-40,-40,-50,-50,-40,-40,-30,
+			-30,-40,-40,-50,-50,-40,-40,-30,
+			-30,-40,-40,-50,-50,-40,-40,-30,
+			-30,-40,-40,-50,-50,-40,-40,-30,
+			-20,-30,-30,-40,-40,-30,-30,-20,
+			-10,-20,-20,-20,-20,-20,-20,-10,
+			 20, 20,  0,  0,  0,  0, 20, 20,
+			 20, 30, 10,  0,  0, 10, 30, 20 },
+		{	// HORIZON: never leaves its row, so only its column matters. Central columns cut the board in half.
+			-5,  0,  5, 10, 10,  5,  0, -5,
+			-5,  0,  5, 10, 10,  5,  0, -5,
+			-5,  0,  5, 10, 10,  5,  0, -5,
+			-5,  0,  5, 10, 10,  5,  0, -5,
+			-5,  0,  5, 10, 10,  5,  0, -5,
+			-5,  0,  5, 10, 10,  5,  0, -5,
+			-5,  0,  5, 10, 10,  5,  0, -5,
+			-5,  0,  5, 10, 10,  5,  0, -5 },
+		{	// CENTAUR: its long 1x3 jumps fall off the board from near any edge, so it wants the middle 4x4
+			-40,-30,-20,-20,-20,-20,-30,-40,
+			-30,-20,-10,-10,-10,-10,-20,-30,
+			-20,-10, 10, 15, 15, 10,-10,-20,
+			-20,-10, 15, 20, 20, 15,-10,-20,
+			-20,-10, 15, 20, 20, 15,-10,-20,
+			-20,-10, 10, 15, 15, 10,-10,-20,
+			-30,-20,-10,-10,-10,-10,-20,-30,
+			-40,-30,-20,-20,-20,-20,-30,-40 },
+		null,	// SHAPESHIFTER: QUEEN's table until it moves
+		null	// DECOY: moves like a QUEEN
+	};
+
+	/**
+	 * Value plus piece-square bonus of every ChessPiece on every square: SCORES[color.ordinal()][type.ordinal()][square]. \n
+	 * Positive for WHITE, negative for BLACK, so a ChessBoard's score is the plain sum over its ChessPieces.
+	 */
+	private static final int[][][] SCORES = new int[2][VALUES.length][64];
+	static {
+		for (int type = 0; type < VALUES.length; type++){
+			int[] table = (TABLES[type] != null) ? TABLES[type] : TABLES[Type.QUEEN.ordinal()];
+			for (int square = 0; square < 64; square++){
+				int row = square >>> 3;
+				int column = square & 7;
+				SCORES[Color.WHITE.ordinal()][type][square] =   VALUES[type] + table[((7 - row) << 3) + column];
+				SCORES[Color.BLACK.ordinal()][type][square] = -(VALUES[type] + table[(row << 3) + column]);
+			}
+		}
+	}
+
+	/** Private Constructor: only static helpers */
+	private Evaluation(){
+	}
+
+	/**
+	 * @param type	A Type
+	 * @return		Its value in centipawns
+	 */
+	public static int value(Type type){
+		return VALUES[type.ordinal()];
+	}
+
+	/**
+	 * Scores a ChessBoard from the bitboards
+	 * @param board		ChessBoard to score
+	 * @return			WHITE's material minus BLACK's material, in centipawns
+	 */
+	public static int material(ChessBoard board){
+		long[] white = board.pieceBitboards[Color.WHITE.ordinal()];
+		long[] black = board.pieceBitboards[Color.BLACK.ordinal()];
+		int score = 0;
+		for (int type = 0; type < VALUES.length; type++)
+			score += VALUES[type] * (Long.bitCount(white[type]) - Long.bitCount(black[type]));
+		return score;
+	}
+
+	/**
+	 * What a ChessPiece adds to a ChessBoard's score
+	 * @param color		Color.ordinal() of the ChessPiece
+	 * @param type		Type.ordinal() of the ChessPiece
+	 * @param square	Square from 0 - 63
+	 * @return			Value plus piece-square bonus. Negative for BLACK.
+	 */
+	public static int pieceSquare(int color, int type, int square){
+		return SCORES[color][type][square];
+	}
+
+	/**
+	 * Sums the score of a ChessBoard from scratch. ChessBoard.score should always equal this.
+	 * @param board		ChessBoard to score
+	 * @return			WHITE's material and piece-square bonuses minus BLACK's, in centipawns
+	 */
+	public static int score(ChessBoard board){
+		int score = 0;
+		for (int color = 0; color < 2; color++)
+			for (int type = 0; type < VALUES.length; type++)
+				for (long pieces = board.pieceBitboards[color][type]; pieces != 0; pieces &= pieces - 1)
+					score += SCORES[color][type][Long.numberOfTrailingZeros(pieces)];
+		return score;
+	}
+
+	/**
+	 * Scores a ChessBoard for the player whose turn it is, from its incrementally updated score
+	 * @param board		ChessBoard to score
+	 * @return			Score in centipawns. Positive is good for the player to move.
+	 */
+	public static int evaluate(ChessBoard board){
+		return (board.playerTurn == Color.WHITE) ? board.score : -board.score;
+	}
+}
@@ -0,0 +1,17 @@
+package piece_properties;
+
+/**
+ * \brief
+ * Ranks quiet moves (moves that capture nothing) for a MovePicker. \n
+ * A search usually scores a move by how often it refuted other moves before, but any scoring can be plugged in.
+ * @author Rodney Shaghoulian
+ */
+public interface HistoryScore {
+	/**
+	 * Scores a quiet move. Higher scores are tried first.
+	 * @param from	Square moved from
+	 * @param to	Square moved to
+	 * @return		The move's score
+	 */
+	int score(int from, int to);
+}
@@ -0,0 +1,199 @@
+package piece_properties;
+
+import main_components.*;
+
+/**
+ * \brief
+ * Generates legal moves without trying them. \n
+ * setup() finds the checks and pins on one Color's KING once per position. After that, a ChessPiece's legal tiles
+ * are its own moves, limited to tiles that stop the check and, if it is pinned, to the line of its pin.
+ * @author Rodney Shaghoulian
+ */
+public class MoveGenerator {
+	/* Data */
+	private ChessBoard board;	///< ChessBoard the moves are generated on
+	private Color color;		///< Color of the ChessPieces we generate moves for
+	private Color opponentColor;	///< Color of the opponent's ChessPieces
+	private int kingSquare;		///< Square of our KING
+	private long ownPieces;		///< Bitboard of our ChessPieces
+	private long checkers;		///< Bitboard of opponent ChessPieces attacking our KING
+	private long checkMask;		///< Tiles a non-KING move must land on: any tile if not in check, the checker or a blocking tile if in check, none if in double check
+	private long pinned;		///< Bitboard of our ChessPieces pinned to our KING
+
+	/**
+	 * Finds checks and pins for one Color. Must be called again after the ChessBoard changes.
+	 * @param board		ChessBoard game is being played on
+	 * @param color		Color of the ChessPieces we want to generate moves for
+	 */
+	public void setup(ChessBoard board, Color color){
+		this.board = board;
+		this.color = color;
+		ChessPiece king = (color == Color.WHITE) ? board.whiteKing : board.blackKing;
+		opponentColor = (color == Color.WHITE) ? Color.BLACK : Color.WHITE;
+		long[] opponentBitboards = board.pieceBitboards[opponentColor.ordinal()];
+		kingSquare = ChessBoard.square(king.position);
+		ownPieces  = board.colorBitboard(color);
+
+		/* Checks */
+		checkers = board.attackersTo(kingSquare, opponentColor, board.occupied);
+		if (checkers == 0)
+			checkMask = ~0L;
+		else if ((checkers & (checkers - 1)) == 0)	// exactly 1 checker: capture it or block it
+			checkMask = checkers | AttackTables.between(kingSquare, Long.numberOfTrailingZeros(checkers));
+		else										// double check: only the KING can move
+			checkMask = 0;
+
+		/* Pins: opponent sliders that would attack our KING if nothing were in between */
+		long queenLike  = opponentBitboards[Type.QUEEN.ordinal()] | opponentBitboards[Type.DECOY.ordinal()] | opponentBitboards[Type.SHAPESHIFTER.ordinal()];
+		long snipers = (AttackTables.rookAttacks(kingSquare, 0)    & (opponentBitboards[Type.ROOK.ordinal()] | queenLike))
+					 | (AttackTables.bishopAttacks(kingSquare, 0)  & (opponentBitboards[Type.BISHOP.ordinal()] | queenLike))
+					 | (AttackTables.horizonAttacks(kingSquare, 0) & opponentBitboards[Type.HORIZON.ordinal()]);
+		pinned = 0;
+		for (; snipers != 0; snipers &= snipers - 1){
+			long blockers = AttackTables.between(kingSquare, Long.numberOfTrailingZeros(snipers)) & board.occupied;
+			if (blockers != 0 && (blockers & (blockers - 1)) == 0)	// exactly 1 ChessPiece in between
+				pinned |= blockers & ownPieces;
+		}
+	}
+
+	/**
+	 * Finds the legal tiles of one of our ChessPieces. Assumes setup() was called for its Color.
+	 * @param piece		The ChessPiece to move
+	 * @return			Bitboard of tiles the ChessPiece can legally move to
+	 */
+	public long legalTargets(ChessPiece piece){
+		int square = ChessBoard.square(piece.position);
+
+		if (piece.type == Type.KING)
+			return kingTargets();
+
+		long targets = pseudoLegalTargets(piece, square) & checkMask;
+		if ((pinned & (1L << square)) != 0)
+			targets &= AttackTables.line(kingSquare, square);
+		return targets;
+	}
+
+	/**
+	 * Adds every legal move of our Color to a MoveList. Assumes setup() was called. Allocates nothing.
+	 * @param list		MoveList to add the moves to. It is not cleared first.
+	 */
+	public void generate(MoveList list){
+		generate(list, ~0L);
+	}
+
+	/**
+	 * Adds only the legal captures of our Color to a MoveList. Assumes setup() was called. Allocates nothing.
+	 * @param list		MoveList to add the moves to. It is not cleared first.
+	 */
+	public void generateCaptures(MoveList list){
+		generate(list, board.occupied & ~ownPieces);
+	}
+
+	/**
+	 * Adds only the legal moves of our Color to empty tiles to a MoveList. Assumes setup() was called. Allocates nothing.
+	 * @param list		MoveList to add the moves to. It is not cleared first.
+	 */
+	public void generateQuiets(MoveList list){
+		generate(list, ~board.occupied);
+	}
+
+	/**
+	 * Determines if a move, say from a TranspositionTable, is legal for our Color. Assumes setup() was called.
+	 * @param move		A packed move. Its flags are ignored.
+	 * @return			true if the ChessPiece on its "from" square is ours, and can legally move to its "to" square
+	 */
+	public boolean isLegal(int move){
+		int from = MoveList.from(move);
+		if ((ownPieces & (1L << from)) == 0)
+			return false;
+		ChessPiece piece = board.getPiece(from);
+		return piece != null && (legalTargets(piece) & (1L << MoveList.to(move))) != 0;
+	}
+
+	/**
+	 * Private Helper function to add the legal moves of our Color that land on some tiles
+	 * @param list		MoveList to add the moves to. It is not cleared first.
+	 * @param tiles		Bitboard of the tiles moves may land on
+	 */
+	private void generate(MoveList list, long tiles){
+		long opponentPieces = board.occupied & ~ownPieces;
+		for (long pieces = ownPieces; pieces != 0; pieces &= pieces - 1){
+			int from = Long.numberOfTrailingZeros(pieces);
+			ChessPiece piece = board.getPiece(from);
+			if (piece == null)
+				continue;
+			for (long targets = legalTargets(piece) & tiles; targets != 0; targets &= targets - 1){
+				int to = Long.numberOfTrailingZeros(targets);
+				list.add(from, to, ((opponentPieces & (1L << to)) != 0) ? MoveList.CAPTURE : 0);
+			}
+		}
+	}
+
+	/**
+	 * Determines if we have at least one legal move, stopping at the first one found. Assumes setup() was called.
+	 * The KING is tried first, since it is the only ChessPiece that may move in double check.
+	 * @return		true if any of our ChessPieces has a legal move
+	 */
+	public boolean hasLegalMove(){
+		if (kingTargets() != 0)
+			return true;
+		if (checkMask == 0)
+			return false;
+		for (long pieces = ownPieces & ~(1L << kingSquare); pieces != 0; pieces &= pieces - 1){
+			ChessPiece piece = board.getPiece(Long.numberOfTrailingZeros(pieces));
+			if (piece != null && legalTargets(piece) != 0)
+				return true;
+		}
+		return false;
+	}
+
+	/**
+	 * Determines if our KING is in check. Assumes setup() was called.
+	 * @return		true if at least one opponent ChessPiece attacks our KING
+	 */
+	public boolean inCheck(){
+		return checkers != 0;
+	}
+
+	/**
+	 * Finds the tiles a ChessPiece can move to, ignoring the safety of its own KING
+	 * @param piece		The ChessPiece to move (not a KING)
+	 * @param square	Square of the ChessPiece
+	 * @return			Bitboard of tiles
+	 */
+	private long pseudoLegalTargets(ChessPiece piece, int square){
+		if (piece.type != Type.PAWN)
+			return AttackTables.attacks(piece.type, color, square, board.occupied) & ~ownPieces;
+
+		/* PAWNS capture diagonally, and move forward 1 tile, or 2 tiles from their starting row */
+		long opponentPieces = board.occupied & ~ownPieces;
+		long targets = AttackTables.pawnAttacks(color, square) & opponentPieces;
+		int row = square >>> 3;
+		int forward     = (color == Color.WHITE) ? 8 : -8;
+		int startingRow = (color == Color.WHITE) ? 1 : 6;
+		int oneStep = square + forward;
+		if (oneStep >= 0 && oneStep < 64 && (board.occupied & (1L << oneStep)) == 0){
+			targets |= 1L << oneStep;
+			int twoSteps = oneStep + forward;
+			if (row == startingRow && (board.occupied & (1L << twoSteps)) == 0)
+				targets |= 1L << twoSteps;
+		}
+		return targets;
+	}
+
+	/**
+	 * Finds the tiles our KING can step to without being attacked. Each tile is tested with the KING removed,
+	 * so that sliders aiming at our KING also cover the tiles behind it.
+	 * @return		Bitboard of tiles
+	 */
+	private long kingTargets(){
+		long targets = AttackTables.kingAttacks(kingSquare) & ~ownPieces;
+		long occupiedWithoutKing = board.occupied & ~(1L << kingSquare);
+		for (long candidates = targets; candidates != 0; candidates &= candidates - 1){
+			int to = Long.numberOfTrailingZeros(candidates);
+			if (board.isSquareAttacked(to, opponentColor, occupiedWithoutKing))
+				targets &= ~(1L << to);
+		}
+		return targets;
+	}
+}
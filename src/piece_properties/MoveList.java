@@ -0,0 +1,87 @@
+package piece_properties;
+
+/**
+ * \brief
+ * A reusable list of moves, each packed into an int: \n
+ * bits 0-5 = square moved from, bits 6-11 = square moved to, bits 12-15 = flags. \n
+ * Squares are bitboard squares (8 * row + column). Nothing is allocated once the list has grown to its working size,
+ * and nothing is synchronized, so each thread should use its own MoveList.
+ * @author Rodney Shaghoulian
+ */
+public class MoveList {
+	/* Flags */
+	public static final int CAPTURE = 1 << 12;	///< Flag for a move that lands on an opponent ChessPiece
+
+	/* Data */
+	public int[] moves;		///< Packed moves. Only the first "size" entries are in the list
+	public int size;		///< Number of moves in the list
+
+	/** Constructor: Creates an empty MoveList with room for a typical position's moves */
+	public MoveList(){
+		moves = new int[128];
+		size = 0;
+	}
+
+	/**
+	 * Empties the list, keeping its array for reuse
+	 */
+	public void clear(){
+		size = 0;
+	}
+
+	/**
+	 * Adds a move to the end of the list
+	 * @param from		Square moved from
+	 * @param to		Square moved to
+	 * @param flags		CAPTURE, or 0
+	 */
+	public void add(int from, int to, int flags){
+		if (size == moves.length)
+			moves = java.util.Arrays.copyOf(moves, 2 * size);
+		moves[size++] = encode(from, to, flags);
+	}
+
+	/**
+	 * Returns a move in the list
+	 * @param index		From 0 to size - 1
+	 * @return			The packed move
+	 */
+	public int get(int index){
+		return moves[index];
+	}
+
+	/**
+	 * Packs a move into an int
+	 * @param from		Square moved from
+	 * @param to		Square moved to
+	 * @param flags		CAPTURE, or 0
+	 * @return			The packed move. Fits in 16 bits.
+	 */
+	public static int encode(int from, int to, int flags){
+		return from | (to << 6) | flags;
+	}
+
+	/**
+	 * @param move	A packed move
+	 * @return		Square moved from
+	 */
+	public static int from(int move){
+		return move & 63;
+	}
+
+	/**
+	 * @param move	A packed move
+	 * @return		Square moved to
+	 */
+	public static int to(int move){
+		return (move >>> 6) & 63;
+	}
+
+	/**
+	 * @param move	A packed move
+	 * @return		true if the move lands on an opponent ChessPiece
+	 */
+	public static boolean isCapture(int move){
+		return (move & CAPTURE) != 0;
+	}
+}
@@ -0,0 +1,177 @@
+package piece_properties;
+
+import main_components.*;
+
+/**
+ * \brief
+ * Hands out the legal moves of a position one at a time, best first, generating each stage only when it is reached: \n
+ * 1) a move to try first, such as the best move from a TranspositionTable, if it is legal \n
+ * 2) captures, most valuable victim first, then least valuable attacker first (MVV-LVA) \n
+ * 3) quiet moves, highest HistoryScore first \n
+ * A caller that stops early, say on an alpha-beta cutoff, never pays for the stages it didn't reach.
+ * setupCaptures() skips stages 1 and 3, for searches that only resolve captures.
+ * Each MovePicker has its own MoveGenerator, so a search can keep one MovePicker per ply on the same ChessBoard.
+ * @author Rodney Shaghoulian
+ */
+public class MovePicker {
+	/* Stages */
+	private static final int FIRST_MOVE   = 0;	///< Return the move to try first
+	private static final int CAPTURES     = 1;	///< Generate the captures
+	private static final int NEXT_CAPTURE = 2;	///< Return the remaining captures
+	private static final int QUIETS       = 3;	///< Generate the quiet moves
+	private static final int NEXT_QUIET   = 4;	///< Return the remaining quiet moves
+	private static final int DONE         = 5;	///< Every move was returned
+
+	private static final int KING_ATTACKER_VALUE = 1000;	///< KING's worth as an attacker for MVV-LVA: more than any other ChessPiece, and under 1024
+
+	/* Data */
+	private final MoveGenerator generator = new MoveGenerator();	///< Finds checks and pins once per position
+	private final MoveList list = new MoveList();		///< Moves of the current stage
+	private int[] scores = new int[128];				///< Score of each move in list
+	private int index;									///< Next move of list to return
+	private int stage;									///< One of the stages above
+	private ChessBoard board;							///< ChessBoard the moves are picked on
+	private int firstMove;								///< Move to try first. 0 if none.
+	private HistoryScore history;						///< Ranks the quiet moves. null keeps them in generation order.
+	private boolean capturesOnly;						///< true to stop after the captures
+
+	/**
+	 * Starts picking moves for the player whose turn it is. Nothing is generated yet.
+	 * @param board			ChessBoard to pick moves on. Must not change between calls to next(), except by moves that are taken back.
+	 * @param firstMove		Move to try first, checked for legality. 0 if none.
+	 * @param history		Ranks the quiet moves. null keeps them in generation order.
+	 */
+	public void setup(ChessBoard board, int firstMove, HistoryScore history){
+		this.board 	   = board;
+		this.history   = history;
+		capturesOnly   = false;
+		generator.setup(board, board.playerTurn);
+		this.firstMove = 0;
+		if (firstMove != 0 && generator.isLegal(firstMove)){
+			int to = MoveList.to(firstMove);
+			this.firstMove = MoveList.encode(MoveList.from(firstMove), to, ((board.occupied & (1L << to)) != 0) ? MoveList.CAPTURE : 0);
+		}
+		stage = FIRST_MOVE;
+	}
+
+	/**
+	 * Starts picking only the captures of the player whose turn it is, best first. Nothing is generated yet.
+	 * @param board			ChessBoard to pick moves on. Must not change between calls to next(), except by moves that are taken back.
+	 */
+	public void setupCaptures(ChessBoard board){
+		this.board 	 = board;
+		history 	 = null;
+		firstMove 	 = 0;
+		capturesOnly = true;
+		generator.setup(board, board.playerTurn);
+		stage = CAPTURES;
+	}
+
+	/**
+	 * Returns the next best legal move
+	 * @return		A packed move, as in MoveList. -1 once every legal move was returned.
+	 */
+	public int next(){
+		while (true){
+			switch (stage){
+				case FIRST_MOVE:
+					stage = CAPTURES;
+					if (firstMove != 0)
+						return firstMove;
+					break;
+				case CAPTURES:
+					list.clear();
+					generator.generateCaptures(list);
+					scoreCaptures();
+					stage = NEXT_CAPTURE;
+					break;
+				case NEXT_CAPTURE:
+					int capture = pickBest();
+					if (capture >= 0)
+						return capture;
+					stage = capturesOnly ? DONE : QUIETS;
+					break;
+				case QUIETS:
+					list.clear();
+					generator.generateQuiets(list);
+					scoreQuiets();
+					stage = NEXT_QUIET;
+					break;
+				case NEXT_QUIET:
+					int quiet = pickBest();
+					if (quiet >= 0)
+						return quiet;
+					stage = DONE;
+					break;
+				default:
+					return -1;
+			}
+		}
+	}
+
+	/**
+	 * Determines if the player to move is in check, as found by setup()
+	 * @return		true if the player to move is in check
+	 */
+	public boolean inCheck(){
+		return generator.inCheck();
+	}
+
+	/**
+	 * Private Helper function to score captures by MVV-LVA: the victim's value first, then the attacker's value, lower is better. \n
+	 * A KING attacker comes after every other attacker of the same victim, even though Evaluation.VALUES gives it 0.
+	 */
+	private void scoreCaptures(){
+		growScores();
+		for (int i = 0; i < list.size; i++){
+			int move = list.moves[i];
+			ChessPiece attacker = board.getPiece(MoveList.from(move));
+			ChessPiece victim 	= board.getPiece(MoveList.to(move));
+			int victimValue   = (victim == null)   ? 0 : Evaluation.value(victim.type);
+			int attackerValue = (attacker == null) ? 0 : (attacker.type == Type.KING) ? KING_ATTACKER_VALUE : Evaluation.value(attacker.type);
+			scores[i] = (victimValue << 10) - attackerValue;
+		}
+		index = 0;
+	}
+
+	/**
+	 * Private Helper function to score quiet moves by the HistoryScore
+	 */
+	private void scoreQuiets(){
+		growScores();
+		for (int i = 0; i < list.size; i++){
+			int move = list.moves[i];
+			scores[i] = (history == null) ? 0 : history.score(MoveList.from(move), MoveList.to(move));
+		}
+		index = 0;
+	}
+
+	/**
+	 * Private Helper function to make room for a score per move
+	 */
+	private void growScores(){
+		if (scores.length < list.size)
+			scores = new int[list.moves.length];
+	}
+
+	/**
+	 * Private Helper function to return the best remaining move of the current stage. \n
+	 * One step of a selection sort, so moves never asked for are never sorted.
+	 * @return		The best remaining move, other than the first move. -1 if none remain.
+	 */
+	private int pickBest(){
+		while (index < list.size){
+			int best = index;
+			for (int i = index + 1; i < list.size; i++)
+				if (scores[i] > scores[best])
+					best = i;
+			int move = list.moves[best];
+			list.moves[best] = list.moves[index];
+			scores[best] 	 = scores[index];
+			index++;
+			if (move != firstMove)
+				return move;
+		}
+		return -1;
+	}
+}
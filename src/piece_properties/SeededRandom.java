@@ -0,0 +1,68 @@
+package piece_properties;
+
+/**
+ * \brief
+ * A seedable random number generator, one per ChessBoard, for SHAPESHIFTER and DECOY changes. \n
+ * It is the SplitMix64 generator behind java.util.SplittableRandom, with its whole state in one public long,
+ * so a ChessBoard copy continues the same sequence and a Command can rewind it on undo.
+ * The same seed and the same moves always give the same game, and boards on different threads never share a generator.
+ * @author Rodney Shaghoulian
+ */
+public class SeededRandom {
+	private static final long GOLDEN_GAMMA = 0x9E3779B97F4A7C15L;	///< Added to the state for each number, as in SplittableRandom
+
+	/* Data */
+	public final long seed;		///< Seed the sequence started from. Record it to replay a game.
+	public long state;			///< Current place in the sequence. Save and restore it to rewind.
+
+	/**
+	 * Constructor
+	 * @param seed		Seed of the sequence
+	 */
+	public SeededRandom(long seed){
+		this.seed  = seed;
+		this.state = seed;
+	}
+
+	/**
+	 * Copy Constructor: continues from the same place in the same sequence, without changing the other generator
+	 * @param other		SeededRandom to copy
+	 */
+	public SeededRandom(SeededRandom other){
+		seed  = other.seed;
+		state = other.state;
+	}
+
+	/**
+	 * @return		A fresh seed, different on each call. Uses no shared generator.
+	 */
+	public static long newSeed(){
+		return java.util.concurrent.ThreadLocalRandom.current().nextLong();
+	}
+
+	/**
+	 * @return		The next random 64-bit number
+	 */
+	public long nextLong(){
+		return splitMix64(state += GOLDEN_GAMMA);
+	}
+
+	/**
+	 * @param bound		Number of possible values
+	 * @return			The next random number from 0 to bound - 1
+	 */
+	public int nextInt(int bound){
+		return (int) (((nextLong() >>> 32) * bound) >>> 32);
+	}
+
+	/**
+	 * Private Helper function to scramble a counter into a well mixed 64-bit number
+	 * @param z		Counter value
+	 * @return		Mixed value
+	 */
+	private static long splitMix64(long z){
+		z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+		z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+		return z ^ (z >>> 31);
+	}
+}
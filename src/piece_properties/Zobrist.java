@@ -0,0 +1,55 @@
+package piece_properties;
+
+/**
+ * \brief
+ * Zobrist keys: one random 64-bit number per Color, Type, and square, plus one for BLACK to move. \n
+ * A position's key is the XOR of the keys of every ChessPiece on it, so a move updates it with a few XORs
+ * instead of walking the whole ChessBoard. The numbers come from a fixed seed, so keys are the same on every run.
+ * @author Rodney Shaghoulian
+ */
+public final class Zobrist {
+	/* Data */
+	private static final long[][][] pieceKeys = new long[2][Type.values().length][64];	///< pieceKeys[color.ordinal()][type.ordinal()][square]
+	private static final long blackToMove;													///< XORed into a key when it is BLACK's turn
+
+	static {
+		SeededRandom random = new SeededRandom(0x5EEDC0DECAFEF00DL);
+		for (long[][] colorKeys : pieceKeys)
+			for (long[] typeKeys : colorKeys)
+				for (int square = 0; square < 64; square++)
+					typeKeys[square] = random.nextLong();
+		blackToMove = random.nextLong();
+	}
+
+	/** Private Constructor: only static tables */
+	private Zobrist(){
+	}
+
+	/**
+	 * @param color		Color of the ChessPiece
+	 * @param type		Type of the ChessPiece, including HORIZON, CENTAUR, SHAPESHIFTER and DECOY
+	 * @param square	Square from 0 - 63
+	 * @return			Key of that ChessPiece on that square
+	 */
+	public static long piece(Color color, Type type, int square){
+		return pieceKeys[color.ordinal()][type.ordinal()][square];
+	}
+
+	/**
+	 * @param color		Color.ordinal() of the ChessPiece
+	 * @param type		Type.ordinal() of the ChessPiece
+	 * @param square	Square from 0 - 63
+	 * @return			Key of that ChessPiece on that square
+	 */
+	public static long piece(int color, int type, int square){
+		return pieceKeys[color][type][square];
+	}
+
+	/**
+	 * @param color		Color whose turn it is
+	 * @return			Key for the player to move: 0 for WHITE
+	 */
+	public static long turn(Color color){
+		return (color == Color.BLACK) ? blackToMove : 0;
+	}
+}
@@ -11,7 +11,7 @@ import org.junit.runners.Suite.SuiteClasses;
  * @author Rodney Shaghoulian
  */
 @RunWith(Suite.class)
-@SuiteClasses({ ChessPieceTest.class, ChessBoardTest.class, MovesTest.class, ButtonTest.class, 
+@SuiteClasses({ ChessPieceTest.class, PieceIconsTest.class, ChessBoardTest.class, MovesTest.class, AttackTablesTest.class, MoveGeneratorTest.class, MovePickerTest.class, ZobristTest.class, TranspositionTableTest.class, PerftTest.class, ParallelPerftTest.class, SearchTest.class, QuiescenceTest.class, LazySmpTest.class, ButtonTest.class, 
 	CommandTest.class, CommandManagerTest.class, ControllerTest.class})
 public class AllTests {
 
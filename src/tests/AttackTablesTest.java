@@ -0,0 +1,80 @@
+package tests;
+
+import static org.junit.Assert.*;
+
+import java.util.Random;
+
+import org.junit.Test;
+
+import piece_properties.AttackTables;
+import piece_properties.Color;
+import piece_properties.Type;
+
+/**
+ * \brief
+ * Tests the precomputed attack tables against a simple square-by-square walk
+ * @author Rodney Shaghoulian
+ */
+public class AttackTablesTest {
+
+	/** Tests sliding attacks on an empty board */
+	@Test
+	public void testEmptyBoard() {
+		assertEquals(Long.bitCount(AttackTables.rookAttacks(0, 0)), 14);
+		assertEquals(Long.bitCount(AttackTables.bishopAttacks(0, 0)), 7);
+		assertEquals(Long.bitCount(AttackTables.queenAttacks(27, 0)), 27);
+		assertEquals(AttackTables.horizonAttacks(27, 0), 0xF7L << 24);
+		assertEquals(AttackTables.slidingAttacks(Type.KNIGHT, 27, 0), 0);
+	}
+
+	/** Tests jumping and stepping attacks in the center and in a corner */
+	@Test
+	public void testLeapers() {
+		assertEquals(Long.bitCount(AttackTables.knightAttacks(27)), 8);
+		assertEquals(Long.bitCount(AttackTables.knightAttacks(0)), 2);
+		assertEquals(Long.bitCount(AttackTables.kingAttacks(27)), 8);
+		assertEquals(Long.bitCount(AttackTables.kingAttacks(0)), 3);
+		assertEquals(Long.bitCount(AttackTables.centaurAttacks(27)), 8);
+		assertEquals(AttackTables.centaurAttacks(0), (1L << 25) | (1L << 11));
+		assertEquals(AttackTables.pawnAttacks(Color.WHITE, 9), (1L << 16) | (1L << 18));
+		assertEquals(AttackTables.pawnAttacks(Color.BLACK, 56), 1L << 49);
+	}
+
+	/** Tests sliding attacks for every square against many random blocker arrangements */
+	@Test
+	public void testRandomBlockers() {
+		Random random = new Random(1);
+		for (int i = 0; i < 2000; i++){
+			long occupied = random.nextLong() & random.nextLong();
+			for (int square = 0; square < 64; square++){
+				long rook   = walk(square, occupied, 1, 0) | walk(square, occupied, -1, 0) | walk(square, occupied, 0, 1) | walk(square, occupied, 0, -1);
+				long bishop = walk(square, occupied, 1, 1) | walk(square, occupied, -1, 1) | walk(square, occupied, 1, -1) | walk(square, occupied, -1, -1);
+				long horizon = walk(square, occupied, 1, 0) | walk(square, occupied, -1, 0);
+				assertEquals(AttackTables.rookAttacks(square, occupied), rook);
+				assertEquals(AttackTables.bishopAttacks(square, occupied), bishop);
+				assertEquals(AttackTables.queenAttacks(square, occupied), rook | bishop);
+				assertEquals(AttackTables.horizonAttacks(square, occupied), horizon);
+			}
+		}
+	}
+
+	/*****************************/
+	/* Helper Function for tests */
+	/*****************************/
+
+	/** Walks one ray a square at a time, stopping at the first blocker */
+	private long walk(int square, long occupied, int xStep, int yStep){
+		long attacks = 0;
+		int x = (square & 7) + xStep;
+		int y = (square >>> 3) + yStep;
+		while (x >= 0 && x < 8 && y >= 0 && y < 8){
+			long bit = 1L << (8 * y + x);
+			attacks |= bit;
+			if ((occupied & bit) != 0)
+				break;
+			x += xStep;
+			y += yStep;
+		}
+		return attacks;
+	}
+}
@@ -25,6 +25,12 @@ public class ChessBoardTest {
 		verifyInitialConfiguration(testBoard);
 	}
 
+	/** Only an 8x8 ChessBoard fits in the 64-bit bitboards */
+	@Test(expected = IllegalArgumentException.class)
+	public void testChessBoardSize() {
+		new ChessBoard(10, 8, true);
+	}
+
 	/**
 	 * Tests the copy constructor and verifies the initial configuration of the ChessBoard \n
 	 * Ensures the deep copy results in the copied board not affecting another board.
@@ -201,6 +207,248 @@ public class ChessBoardTest {
 		/* No need for more testing. It's similar in logic to "testWhiteHasNoMoves()" */
 	}
 	
+	/** Moves and captures ChessPieces, and makes sure the bitboards stay in sync with tile[][] */
+	@Test
+	public void testBitboards() {
+		/* Set up data */
+		ChessBoard board = new ChessBoard(8, 8, true);
+		assertEquals(board.whitePieces, 0xFFFFL);
+		assertEquals(board.blackPieces, 0xFFFFL << 48);
+		assertEquals(board.occupied, board.whitePieces | board.blackPieces);
+		assertEquals(board.pieceBitboards[Color.WHITE.ordinal()][Type.KING.ordinal()], 1L << 4);
+		
+		/* (Illegally) move White Rook to capture Black Pawn */
+		ChessPiece whiteRook = board.tile[0][0];
+		board.movePiece(whiteRook, new Point(0, 6));
+		assertEquals(board.pieceBitboards[Color.WHITE.ordinal()][Type.ROOK.ordinal()], (1L << 48) | (1L << 7));
+		assertEquals(board.pieceBitboards[Color.BLACK.ordinal()][Type.PAWN.ordinal()], 0xFEL << 48);
+		assertTrue(board.pieceExists(new Point(0, 6)));
+		assertFalse(board.pieceExists(new Point(0, 0)));
+		assertEquals(board.pieceColor(new Point(0, 6)), Color.WHITE);
+		
+		/* Put the Black Pawn back, and compare against a full rebuild */
+		board.movePiece(whiteRook, new Point(0, 0));
+		board.placePiece(new ChessPiece(Type.PAWN, Color.BLACK, new Point(0, 6)));
+		long whitePieces = board.whitePieces;
+		long blackPieces = board.blackPieces;
+		board.updateBitboards();
+		assertEquals(board.whitePieces, whitePieces);
+		assertEquals(board.blackPieces, blackPieces);
+		assertEquals(board.pieceColor(new Point(0, 6)), Color.BLACK);
+	}
+	
+	/** Makes a capture in place, takes it back, and makes sure the ChessBoard is restored */
+	@Test
+	public void testMakeUnmakeMove() {
+		/* Set up data */
+		ChessBoard board = new ChessBoard(8, 8, true);
+		ChessPiece whiteQueen = board.tile[0][3];
+		ChessPiece blackPawn  = board.tile[6][3];
+		long whitePieces = board.whitePieces;
+		long blackPieces = board.blackPieces;
+		
+		/* (Illegally) move WHITE QUEEN to capture BLACK PAWN */
+		board.makeMove(3, 51);
+		assertSame(board.tile[6][3], whiteQueen);
+		assertNull(board.tile[0][3]);
+		assertEquals(whiteQueen.position, new Point(3, 6));
+		assertEquals(board.playerTurn, Color.BLACK);
+		assertTrue(board.kingAttacked(Color.BLACK));
+		assertFalse(board.kingAttacked(Color.WHITE));
+		
+		/* Take it back */
+		board.unmakeMove();
+		assertSame(board.tile[0][3], whiteQueen);
+		assertSame(board.tile[6][3], blackPawn);
+		assertEquals(whiteQueen.position, new Point(3, 0));
+		assertEquals(board.playerTurn, Color.WHITE);
+		assertEquals(board.whitePieces, whitePieces);
+		assertEquals(board.blackPieces, blackPieces);
+		assertFalse(board.kingAttacked(Color.BLACK));
+		verifyInitialConfiguration(board);
+	}
+	
+	/** Plays and takes back moves, and makes sure the incrementally patched attack maps match a full rebuild */
+	@Test
+	public void testAttackMaps() {
+		/* Set up data */
+		ChessBoard board = new ChessBoard(8, 8, false);
+		java.util.Random random = new java.util.Random(7);
+		
+		/* Play the first valid move of a random ChessPiece, several times */
+		for (int move = 0; move < 20; move++){
+			board.requestValidTiles(board.playerTurn);
+			long pieces = board.colorBitboard(board.playerTurn);
+			int from = -1;
+			for (int tries = 0; tries < 64 && from < 0; tries++){
+				int square = random.nextInt(64);
+				if ((pieces & (1L << square)) != 0 && board.getPiece(square).moves.validBitboard != 0)
+					from = square;
+			}
+			if (from < 0)
+				break;
+			int to = Long.numberOfTrailingZeros(board.getPiece(from).moves.validBitboard);
+			board.movePiece(board.getPiece(from), ChessBoard.point(to));
+			board.updateChessBoard();
+			
+			/* Try a move in place and take it back */
+			board.makeMove(to, Long.numberOfTrailingZeros(~board.occupied));
+			board.unmakeMove();
+			
+			/* Compare against a full rebuild */
+			ChessBoard rebuilt = new ChessBoard(board);
+			for (int square = 0; square < 64; square++){
+				assertEquals(board.attacksFrom[square], rebuilt.attacksFrom[square]);
+				assertEquals(board.attackersTo[square], rebuilt.attackersTo[square]);
+			}
+		}
+	}
+	
+	/** Piece lists follow captures and restores, and the per-Color updates only visit the pieces they list */
+	@Test
+	public void testPieceLists() {
+		/* Set up data */
+		ChessBoard board = new ChessBoard(8, 8, true);
+		ChessPiece whiteKnight = board.tile[0][1];
+		ChessPiece blackPawn   = board.tile[6][3];
+		
+		/* (Illegally) move WHITE KNIGHT to capture BLACK PAWN */
+		board.movePiece(whiteKnight, new Point(3, 6));
+		assertEquals(Long.bitCount(board.whitePieces), 16);
+		assertEquals(Long.bitCount(board.blackPieces), 15);
+		assertEquals(board.blackPieces & (1L << 51), 0);
+		
+		/* Test captured PAWN is no longer updated */
+		blackPawn.moves.attackTiles.clear();
+		board.updateAttackTilesOneColor(Color.BLACK);
+		assertTrue(blackPawn.moves.attackTiles.isEmpty());
+		
+		/* Restore the PAWN, as Command.undo() does */
+		board.movePiece(whiteKnight, new Point(1, 0));
+		board.placePiece(new ChessPiece(blackPawn));
+		assertEquals(board.whitePieces, 0xFFFFL);
+		assertEquals(board.blackPieces, 0xFFFFL << 48);
+		assertFalse(board.whiteHasNoMoves());
+		assertFalse(board.blackHasNoMoves());
+	}
+	
+	/** The early-exit square query agrees with the full attack sets of both Colors, with and without custom ChessPieces */
+	@Test
+	public void testIsSquareAttacked() {
+		for (boolean classicMode : new boolean[]{true, false}){
+			/* Set up data */
+			ChessBoard board = new ChessBoard(8, 8, classicMode);
+			board.movePiece(board.tile[1][4], new Point(4, 3));	// open lines for the sliders
+			board.movePiece(board.tile[6][3], new Point(3, 4));
+			
+			/* Test every square */
+			for (Color color : new Color[]{Color.WHITE, Color.BLACK}){
+				long attacked = board.attackedSquares(color);
+				for (int square = 0; square < 64; square++)
+					assertEquals(board.isSquareAttacked(square, color), (attacked & (1L << square)) != 0);
+			}
+		}
+	}
+	
+	/** Plays "Fool's Mate". The game ends without any "Valid Tiles" being generated, and they are generated once requested. */
+	@Test
+	public void testHasAnyLegalMove() {
+		/* Set up data */
+		ChessBoard board = new ChessBoard(8, 8, true);
+		assertTrue(board.hasAnyLegalMove(Color.WHITE));
+		assertTrue(board.hasAnyLegalMove(Color.BLACK));
+		
+		/* Play Fool's Mate */
+		board.movePiece(board.tile[1][5], new Point(5, 2));
+		board.updateChessBoard();
+		board.movePiece(board.tile[6][4], new Point(4, 4));
+		board.updateChessBoard();
+		board.movePiece(board.tile[1][6], new Point(6, 3));
+		board.updateChessBoard();
+		ChessPiece blackQueen = board.tile[7][3];
+		board.movePiece(blackQueen, new Point(7, 3));
+		board.updateChessBoard();
+		
+		/* Test CheckMate ! */
+		assertTrue(board.gameEnded);
+		assertEquals(board.winner, Color.BLACK);
+		assertFalse(board.hasAnyLegalMove(Color.WHITE));
+		assertTrue(board.hasAnyLegalMove(Color.BLACK));
+		
+		/* Test "Valid Tiles" were deferred, then generated on request */
+		assertEquals(blackQueen.moves.validTiles.size(), 0);
+		board.requestValidTiles(Color.BLACK);
+		assertTrue(blackQueen.moves.validTiles.size() > 0);
+		assertEquals(board.whiteKing.moves.validTiles.size(), 0);
+	}
+
+	/** The incrementally updated score matches a full rescan after moves, captures, and take-backs, in both modes */
+	@Test
+	public void testScore() {
+		for (boolean classicMode : new boolean[]{true, false}){
+			/* Set up data: the starting position is symmetric */
+			ChessBoard board = new ChessBoard(8, 8, classicMode);
+			assertEquals(board.score, 0);
+			assertEquals(Evaluation.score(board), 0);
+
+			/* WHITE PAWN to e4 is worth more than on e2 */
+			board.movePiece(board.tile[1][4], new Point(4, 3));
+			board.updateChessBoard();
+			assertTrue(board.score > 0);
+			assertEquals(board.score, Evaluation.score(board));
+			assertEquals(Evaluation.evaluate(board), -board.score);	// BLACK to move
+
+			/* (Illegally) capture the WHITE QUEEN with a BLACK PAWN, then take it back */
+			int score = board.score;
+			board.makeMove(51, 3);
+			assertEquals(board.score, Evaluation.score(board));
+			assertTrue(board.score < -800);
+			board.unmakeMove();
+			assertEquals(board.score, score);
+
+			/* Capture with movePiece(), and restore with placePiece(), as Command.undo() does */
+			ChessPiece whiteQueen = board.tile[0][3];
+			board.movePiece(board.tile[6][3], new Point(3, 0));
+			assertEquals(board.score, Evaluation.score(board));
+			board.movePiece(board.tile[0][3], new Point(3, 6));
+			board.placePiece(new ChessPiece(whiteQueen));
+			assertEquals(board.score, score);
+		}
+	}
+
+	/** Static exchange evaluation of captures with defenders, x-rays along a column and a row, and a CENTAUR defender */
+	@Test
+	public void testStaticExchange() {
+		/* Set up data: only the 2 KINGS, in the corners of the h column */
+		ChessBoard board = TestBoards.emptyBoardCornerKings();
+
+		/* A ROOK takes a free PAWN */
+		TestBoards.place(board, Type.ROOK, Color.WHITE, 3, 1);
+		TestBoards.place(board, Type.PAWN, Color.BLACK, 3, 4);
+		assertEquals(board.staticExchange(11, 35), 100);
+
+		/* A BLACK ROOK defends it, but a 2nd WHITE ROOK behind the 1st recaptures */
+		TestBoards.place(board, Type.ROOK, Color.BLACK, 3, 7);
+		assertEquals(board.staticExchange(11, 35), -400);
+		TestBoards.place(board, Type.ROOK, Color.WHITE, 3, 0);
+		assertEquals(board.staticExchange(11, 35), 100);
+
+		/* HORIZONS line up on a row: take a CENTAUR, lose a HORIZON, take a HORIZON */
+		TestBoards.place(board, Type.CENTAUR, Color.BLACK, 4, 2);
+		TestBoards.place(board, Type.HORIZON, Color.BLACK, 6, 2);
+		TestBoards.place(board, Type.HORIZON, Color.WHITE, 1, 2);
+		assertEquals(board.staticExchange(17, 20), 20);
+		TestBoards.place(board, Type.HORIZON, Color.WHITE, 0, 2);
+		assertEquals(board.staticExchange(17, 20), 270);
+
+		/* The CENTAUR defends a PAWN from a QUEEN with a 1x3 jump */
+		TestBoards.place(board, Type.QUEEN, Color.WHITE, 0, 5);
+		TestBoards.place(board, Type.PAWN, Color.BLACK, 5, 5);
+		long key = board.zobristKey;
+		assertEquals(board.staticExchange(40, 45), -800);
+		assertEquals(board.zobristKey, key);	// no move was made
+	}
+
 	/*****************************/
 	/* Helper Function for tests */
 	/*****************************/
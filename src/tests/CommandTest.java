@@ -7,6 +7,7 @@ import java.awt.Point;
 import org.junit.Test;
 
 import main_components.ChessBoard;
+import main_components.ChessPiece;
 import main_components.View;
 import main_components.Command;
 import main_components.Controller;
@@ -38,4 +39,123 @@ public class CommandTest {
 		assertEquals(chessBoard.tile[0][0].type, Type.ROOK);
 		assertEquals(chessBoard.tile[4][4], null);
 	}
+	
+	/**
+	 * Tests a Command without a View: captures a BLACK PAWN, then undoes the capture
+	 */
+	@Test
+	public void testExecuteUndoWithoutView() {
+		/* Set up data */
+		ChessBoard chessBoard = new ChessBoard(8, 8, true);
+		ChessPiece whiteQueen = chessBoard.tile[0][3];
+		Command command = new Command(chessBoard, new Point(3, 0), new Point(3, 6));
+		long key = chessBoard.zobristKey;
+		
+		/* Test execute */
+		command.execute();
+		assertSame(chessBoard.tile[6][3], whiteQueen);
+		assertEquals(chessBoard.tile[0][3], null);
+		assertEquals(chessBoard.playerTurn, piece_properties.Color.BLACK);
+		
+		/* Test Undo */
+		command.undo();
+		assertSame(chessBoard.tile[0][3], whiteQueen);
+		assertEquals(chessBoard.tile[6][3].type, Type.PAWN);
+		assertEquals(chessBoard.zobristKey, key);
+	}
+	
+	/**
+	 * Tests a SHAPESHIFTER changes only when its Command executes, turns back on undo, and makes the same change on redo
+	 */
+	@Test
+	public void testShapeshifterUndoRedo() {
+		/* Set up data: replace WHITE QUEEN with a SHAPESHIFTER, and open its column */
+		ChessBoard chessBoard = new ChessBoard(8, 8, false);
+		ChessPiece shapeshifter = new ChessPiece(Type.SHAPESHIFTER, piece_properties.Color.WHITE, new Point(3, 0));
+		chessBoard.placePiece(shapeshifter);
+		chessBoard.movePiece(chessBoard.tile[1][3], new Point(3, 3));
+		assertEquals(shapeshifter.type, Type.SHAPESHIFTER);	// trial moves don't transform
+		Command command = new Command(chessBoard, new Point(3, 0), new Point(3, 2));
+		long key = chessBoard.zobristKey;
+		
+		/* Test execute */
+		command.execute();
+		Type newType = shapeshifter.type;
+		assertNotEquals(newType, Type.SHAPESHIFTER);
+		assertEquals(chessBoard.score, piece_properties.Evaluation.score(chessBoard));
+		
+		/* Test Undo */
+		command.undo();
+		assertEquals(shapeshifter.type, Type.SHAPESHIFTER);
+		assertEquals(chessBoard.zobristKey, key);
+		
+		/* Test Redo */
+		command.execute();
+		assertEquals(shapeshifter.type, newType);
+		assertEquals(chessBoard.score, piece_properties.Evaluation.score(chessBoard));
+	}
+	
+	/**
+	 * Tests the same seed and moves give the same SHAPESHIFTER and DECOY changes, and that undo rewinds the ChessBoard's random numbers
+	 */
+	@Test
+	public void testSeededReplay() {
+		/* Set up data: 2 games from the same seed */
+		ChessBoard game1 = seededGame(42);
+		ChessBoard game2 = seededGame(42);
+		ChessPiece decoy 		= game1.tile[0][3];
+		ChessPiece shapeshifter = game1.tile[7][3];
+		
+		/* Test both games play out the same */
+		playMoves(game1);
+		playMoves(game2);
+		assertEquals(game2.tile[2][3].disguiseType,  decoy.disguiseType);
+		assertEquals(game2.tile[2][3].disguiseColor, decoy.disguiseColor);
+		assertEquals(game2.tile[5][3].type, shapeshifter.type);
+		assertEquals(game2.random.state, game1.random.state);
+		assertEquals(game2.random.seed, 42);
+		
+		/* Test a copy continues the same sequence, without drawing from the original */
+		long state = game1.random.state;
+		ChessBoard copy = new ChessBoard(game1);
+		assertEquals(game1.random.state, state);
+		assertEquals(copy.random.nextLong(), game1.random.nextLong());
+		
+		/* Test undo rewinds: playing the move again draws the same change */
+		ChessBoard game3 = seededGame(7);
+		Command command = new Command(game3, new Point(3, 0), new Point(3, 2));
+		command.execute();
+		Type disguise = game3.tile[2][3].disguiseType;
+		command.undo();
+		assertEquals(game3.random.state, 7);
+		new Command(game3, new Point(3, 0), new Point(3, 2)).execute();
+		assertEquals(game3.tile[2][3].disguiseType, disguise);
+	}
+	
+	/*****************************/
+	/* Helper Function for tests */
+	/*****************************/
+	
+	/**
+	 * Creates a custom game with a WHITE DECOY and BLACK SHAPESHIFTER in place of the QUEENS, each with an open column
+	 * @param seed	Seed of the game
+	 * @return		The ChessBoard
+	 */
+	private ChessBoard seededGame(long seed){
+		ChessBoard chessBoard = new ChessBoard(8, 8, false, seed);
+		chessBoard.placePiece(new ChessPiece(Type.DECOY, piece_properties.Color.WHITE, new Point(3, 0)));
+		chessBoard.placePiece(new ChessPiece(Type.SHAPESHIFTER, piece_properties.Color.BLACK, new Point(3, 7)));
+		chessBoard.movePiece(chessBoard.tile[1][3], new Point(3, 3));
+		chessBoard.movePiece(chessBoard.tile[6][3], new Point(3, 4));
+		return chessBoard;
+	}
+	
+	/**
+	 * Moves the DECOY, then the SHAPESHIFTER, 2 tiles each
+	 * @param chessBoard	ChessBoard from seededGame()
+	 */
+	private void playMoves(ChessBoard chessBoard){
+		new Command(chessBoard, new Point(3, 0), new Point(3, 2)).execute();
+		new Command(chessBoard, new Point(3, 7), new Point(3, 5)).execute();
+	}
 }
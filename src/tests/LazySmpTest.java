@@ -0,0 +1,76 @@
+package tests;
+
+import static org.junit.Assert.*;
+
+import java.awt.Point;
+
+import org.junit.Test;
+
+import analysis.LazySmp;
+import analysis.Search;
+import analysis.TranspositionTable;
+import main_components.ChessBoard;
+import piece_properties.MoveList;
+
+/**
+ * \brief
+ * Tests that many threads sharing one TranspositionTable find the same moves as one thread
+ * @author Rodney Shaghoulian
+ */
+public class LazySmpTest {
+
+	/** 3 threads find "Fool's Mate", and only read the given ChessBoard */
+	@Test
+	public void testMateInOne() {
+		/* Set up data */
+		ChessBoard board = new ChessBoard(8, 8, true);
+		board.movePiece(board.tile[1][5], new Point(5, 2));
+		board.updateChessBoard();
+		board.movePiece(board.tile[6][4], new Point(4, 4));
+		board.updateChessBoard();
+		board.movePiece(board.tile[1][6], new Point(6, 3));
+		board.updateChessBoard();
+		long key = board.zobristKey;
+
+		/* Test */
+		LazySmp smp = new LazySmp(3, new TranspositionTable(1));
+		Search.Result result = smp.search(board, 4, Long.MAX_VALUE, Long.MAX_VALUE);
+		smp.shutdown();
+		assertEquals(result.move, MoveList.encode(59, 31, 0));
+		assertEquals(result.score, Search.MATE - 1);
+		assertEquals(board.zobristKey, key);
+	}
+
+	/** Helpers stop when the main thread finishes, and their nodes are counted */
+	@Test
+	public void testHelpersStop() {
+		/* Set up data */
+		ChessBoard board = new ChessBoard(8, 8, false);
+		TranspositionTable table = new TranspositionTable(1);
+		Search.Result single = new Search(new ChessBoard(board), new TranspositionTable(1)).search(2, Long.MAX_VALUE, Long.MAX_VALUE);
+
+		/* Test */
+		LazySmp smp = new LazySmp(2, table);
+		Search.Result result = smp.search(board, 2, Long.MAX_VALUE, Long.MAX_VALUE);
+		smp.shutdown();
+		assertTrue(result.depth >= 2 && result.depth < Search.MAX_PLY);
+		assertTrue(result.move >= 0);
+		assertTrue(result.nodes >= single.nodes / 2);
+	}
+
+	/** One search on many threads ages the shared TranspositionTable exactly once */
+	@Test
+	public void testAgesTableOnce() {
+		/* Set up data */
+		ChessBoard board = new ChessBoard(8, 8, true);
+		TranspositionTable table = new TranspositionTable(1);
+		LazySmp smp = new LazySmp(4, table);
+
+		/* Test */
+		for (int search = 1; search <= 3; search++){
+			smp.search(board, 3, Long.MAX_VALUE, Long.MAX_VALUE);
+			assertEquals(table.currentAge(), search);
+		}
+		smp.shutdown();
+	}
+}
@@ -0,0 +1,91 @@
+package tests;
+
+import static org.junit.Assert.*;
+
+import org.junit.Test;
+
+import main_components.*;
+import piece_properties.*;
+
+/**
+ * \brief
+ * Tests the legal move generator on positions with checks and pins
+ * @author Rodney Shaghoulian
+ */
+public class MoveGeneratorTest {
+
+	/** A BLACK HORIZON pins a WHITE ROOK to its KING along a row. The ROOK may only slide along that row. */
+	@Test
+	public void testHorizonPin() {
+		/* Set up data */
+		ChessBoard board = TestBoards.emptyBoard();
+		ChessPiece whiteRook = TestBoards.place(board, Type.ROOK, Color.WHITE, 2, 0);
+		TestBoards.place(board, Type.HORIZON, Color.BLACK, 0, 0);
+		MoveGenerator generator = new MoveGenerator();
+		generator.setup(board, Color.WHITE);
+		
+		/* Test ROOK can only capture the HORIZON or step between */
+		assertFalse(generator.inCheck());
+		assertEquals(generator.legalTargets(whiteRook), (1L << 0) | (1L << 1) | (1L << 3));
+	}
+
+	/** A BLACK CENTAUR checks the WHITE KING. Only capturing it or moving the KING is legal, since a jump can't be blocked. */
+	@Test
+	public void testCentaurCheck() {
+		/* Set up data */
+		ChessBoard board = TestBoards.emptyBoard();
+		ChessPiece whiteRook = TestBoards.place(board, Type.ROOK, Color.WHITE, 7, 3);
+		TestBoards.place(board, Type.CENTAUR, Color.BLACK, 5, 3);
+		MoveGenerator generator = new MoveGenerator();
+		generator.setup(board, Color.WHITE);
+		
+		/* Test ROOK may only capture the CENTAUR, and the KING may step anywhere but the tiles the CENTAUR jumps to */
+		assertTrue(generator.inCheck());
+		assertEquals(generator.legalTargets(whiteRook), 1L << 29);
+		assertEquals(Long.bitCount(generator.legalTargets(board.whiteKing)), 5);
+	}
+
+	/** Two BLACK ChessPieces check the WHITE KING at once. Only the KING may move. */
+	@Test
+	public void testDoubleCheck() {
+		/* Set up data */
+		ChessBoard board = TestBoards.emptyBoard();
+		ChessPiece whiteQueen = TestBoards.place(board, Type.QUEEN, Color.WHITE, 0, 4);
+		TestBoards.place(board, Type.ROOK, Color.BLACK, 4, 5);
+		TestBoards.place(board, Type.KNIGHT, Color.BLACK, 3, 2);
+		MoveGenerator generator = new MoveGenerator();
+		generator.setup(board, Color.WHITE);
+		
+		/* Test QUEEN can't capture or block */
+		assertTrue(generator.inCheck());
+		assertEquals(generator.legalTargets(whiteQueen), 0);
+		assertEquals(generator.legalTargets(board.whiteKing) & (1L << 12), 0);	// still on the ROOK's column
+	}
+
+	/** Generates every legal move of the initial position into a MoveList, and unpacks one */
+	@Test
+	public void testGenerate() {
+		/* Set up data */
+		ChessBoard board = new ChessBoard(8, 8, true);
+		MoveList list = new MoveList();
+		board.generateLegalMoves(list);
+		
+		/* 16 PAWN moves and 4 KNIGHT moves, none of them captures */
+		assertEquals(list.size, 20);
+		for (int i = 0; i < list.size; i++)
+			assertFalse(MoveList.isCapture(list.get(i)));
+		
+		/* Test packing */
+		int move = MoveList.encode(12, 28, MoveList.CAPTURE);
+		assertEquals(MoveList.from(move), 12);
+		assertEquals(MoveList.to(move), 28);
+		assertTrue(MoveList.isCapture(move));
+		assertTrue(move < (1 << 16));
+		
+		/* clear() keeps the array */
+		int[] moves = list.moves;
+		list.clear();
+		assertEquals(list.size, 0);
+		assertSame(list.moves, moves);
+	}
+}
@@ -0,0 +1,83 @@
+package tests;
+
+import static org.junit.Assert.*;
+
+import org.junit.Test;
+
+import main_components.*;
+import piece_properties.*;
+
+/**
+ * \brief
+ * Tests that the staged MovePicker hands out every legal move once, in the promised order
+ * @author Rodney Shaghoulian
+ */
+public class MovePickerTest {
+
+	/** Captures come first, most valuable victim first, then least valuable attacker first. Then come the quiet moves. */
+	@Test
+	public void testCaptureOrder() {
+		/* Set up data: a WHITE PAWN and HORIZON both attack a BLACK CENTAUR, and the PAWN also attacks a BLACK QUEEN */
+		ChessBoard board = TestBoards.emptyBoardCornerKings();
+		TestBoards.place(board, Type.PAWN, Color.WHITE, 3, 3);
+		TestBoards.place(board, Type.HORIZON, Color.WHITE, 0, 4);
+		TestBoards.place(board, Type.QUEEN, Color.BLACK, 4, 4);
+		TestBoards.place(board, Type.CENTAUR, Color.BLACK, 2, 4);
+		MovePicker picker = new MovePicker();
+		board.pickMoves(picker, 0, null);
+
+		/* Test captures */
+		assertEquals(picker.next(), MoveList.encode(27, 36, MoveList.CAPTURE));	// PAWN takes QUEEN
+		assertEquals(picker.next(), MoveList.encode(27, 34, MoveList.CAPTURE));	// PAWN takes CENTAUR
+		assertEquals(picker.next(), MoveList.encode(32, 34, MoveList.CAPTURE));	// HORIZON takes CENTAUR
+
+		/* Test the rest are the quiet moves */
+		MoveList legal = new MoveList();
+		board.generateLegalMoves(legal);
+		int count = 3;
+		for (int move; (move = picker.next()) >= 0; count++)
+			assertFalse(MoveList.isCapture(move));
+		assertEquals(count, legal.size);
+	}
+
+	/** A KING is the most valuable attacker, so its capture comes after a ROOK's capture of the same victim */
+	@Test
+	public void testKingCapturesLast() {
+		/* Set up data: the WHITE KING and a WHITE ROOK both attack a BLACK KNIGHT */
+		ChessBoard board = TestBoards.emptyBoardCornerKings();
+		TestBoards.place(board, Type.KNIGHT, Color.BLACK, 6, 1);
+		TestBoards.place(board, Type.ROOK, Color.WHITE, 6, 5);
+		MovePicker picker = new MovePicker();
+		board.pickMoves(picker, 0, null);
+
+		/* Test captures */
+		assertEquals(picker.next(), MoveList.encode(46, 14, MoveList.CAPTURE));	// ROOK takes KNIGHT
+		assertEquals(picker.next(), MoveList.encode(7, 14, MoveList.CAPTURE));	// KING takes KNIGHT
+		assertFalse(MoveList.isCapture(picker.next()));
+	}
+
+	/** A legal first move comes first and only once, an illegal one is dropped, and quiet moves follow the HistoryScore */
+	@Test
+	public void testFirstMoveAndHistory() {
+		/* Set up data */
+		ChessBoard board = new ChessBoard(8, 8, false);
+		MovePicker picker = new MovePicker();
+		int firstMove = MoveList.encode(12, 20, 0);	// e2e3
+
+		/* Test first move, and no duplicate */
+		board.pickMoves(picker, firstMove, null);
+		assertEquals(picker.next(), firstMove);
+		int count = 1;
+		for (int move; (move = picker.next()) >= 0; count++)
+			assertNotEquals(move, firstMove);
+		assertEquals(count, 20);
+
+		/* Test an illegal first move is skipped, and history puts e2e4 first */
+		board.pickMoves(picker, MoveList.encode(12, 36, 0), (from, to) -> (to == 28) ? 100 : 0);
+		assertEquals(picker.next(), MoveList.encode(12, 28, 0));
+		count = 1;
+		while (picker.next() >= 0)
+			count++;
+		assertEquals(count, 20);
+	}
+}
@@ -171,9 +171,7 @@ public class MovesTest {
 		
 		/* Test blackRook in middle row */
 		board.movePiece(blackRook, new Point(7,4));
-		blackRook.moves.attackTiles.clear();
-		blackRook.moves.attacksLeft(board, blackRook);
-		assertEquals(blackRook.moves.attackTiles.size(), 7);
+		assertEquals(attacksToward(board, blackRook, -1, 0), 7);
 	}
 
 	/** Tests right attacks (using BLACK QUEEN) (Used by ROOKS, QUEENS) */
@@ -188,9 +186,7 @@ public class MovesTest {
 		
 		/* Test blackQueen in middle row */
 		board.movePiece(blackQueen, new Point(4,4));
-		blackQueen.moves.attackTiles.clear();
-		blackQueen.moves.attacksRight(board, blackQueen);
-		assertEquals(blackQueen.moves.attackTiles.size(), 3);
+		assertEquals(attacksToward(board, blackQueen, 1, 0), 3);
 	}
 
 	/** Tests down attacks (using BLACK ROOK) (Used by ROOKS, QUEENS) */
@@ -205,9 +201,7 @@ public class MovesTest {
 		
 		/* Test blackRook in middle row */
 		board.movePiece(blackRook, new Point(7,4));
-		blackRook.moves.attackTiles.clear();
-		blackRook.moves.attacksDown(board, blackRook);
-		assertEquals(blackRook.moves.attackTiles.size(), 3); //also tests attacking opponent piece!
+		assertEquals(attacksToward(board, blackRook, 0, -1), 3); //also tests attacking opponent piece!
 	}
 
 	/** Tests up attacks (using BLACK QUEEN) (Used by ROOKS, QUEENS) */
@@ -222,9 +216,7 @@ public class MovesTest {
 		
 		/* Test blackQueen in middle row */
 		board.movePiece(blackQueen, new Point(4,4));
-		blackQueen.moves.attackTiles.clear();
-		blackQueen.moves.attacksUp(board, blackQueen);
-		assertEquals(blackQueen.moves.attackTiles.size(), 1);
+		assertEquals(attacksToward(board, blackQueen, 0, 1), 1);
 	}
 
 	/** Tests NW attacks (using WHITE BISHOP) (Used by BISHOPS, QUEENS) */
@@ -239,9 +231,7 @@ public class MovesTest {
 		
 		/* Test whiteBishop in middle row */
 		board.movePiece(whiteBishop, new Point(4,4));
-		whiteBishop.moves.attackTiles.clear();
-		whiteBishop.moves.attacksNW(board, whiteBishop);
-		assertEquals(whiteBishop.moves.attackTiles.size(), 2);
+		assertEquals(attacksToward(board, whiteBishop, -1, 1), 2);
 	}
 
 	/** Tests NE attacks (using WHITE BISHOP) (Used by BISHOPS, QUEENS) */
@@ -256,9 +246,7 @@ public class MovesTest {
 		
 		/* Test whiteBishop in middle row */
 		board.movePiece(whiteBishop, new Point(4,4));
-		whiteBishop.moves.attackTiles.clear();
-		whiteBishop.moves.attacksNE(board, whiteBishop);
-		assertEquals(whiteBishop.moves.attackTiles.size(), 2);
+		assertEquals(attacksToward(board, whiteBishop, 1, 1), 2);
 	}
 
 	/** Tests NW attacks (using WHITE BISHOP) (Used by BISHOPS, QUEENS) */
@@ -273,9 +261,7 @@ public class MovesTest {
 		
 		/* Test whiteBishop in middle row */
 		board.movePiece(whiteBishop, new Point(4,4));
-		whiteBishop.moves.attackTiles.clear();
-		whiteBishop.moves.attacksSW(board, whiteBishop);
-		assertEquals(whiteBishop.moves.attackTiles.size(), 2);
+		assertEquals(attacksToward(board, whiteBishop, -1, -1), 2);
 	}
 
 	/** Tests SE attacks (using WHITE BISHOP) (Used by BISHOPS, QUEENS) */
@@ -290,9 +276,7 @@ public class MovesTest {
 		
 		/* Test whiteBishop in middle row */
 		board.movePiece(whiteBishop, new Point(4,4));
-		whiteBishop.moves.attackTiles.clear();
-		whiteBishop.moves.attacksSE(board, whiteBishop);
-		assertEquals(whiteBishop.moves.attackTiles.size(), 2);
+		assertEquals(attacksToward(board, whiteBishop, 1, -1), 2);
 	}
 
 	/** Tests 2 possible PAWN diagonal attacks */
@@ -448,10 +432,38 @@ public class MovesTest {
 		assertEquals(shapeshifter.moves.attackTiles.size(), 15);
 		assertEquals(shapeshifter.moves.validTiles.size(), 15);
 		
-		/* Test to see if it actually Shapeshifts */
+		/* Test a trial move leaves it alone, and a played move makes it Shapeshift */
 		board.movePiece(shapeshifter, new Point(4, 4));
+		assertEquals(shapeshifter.type, Type.SHAPESHIFTER);
+		board.transformPiece(shapeshifter);
 		assertNotEquals(shapeshifter.type, Type.SHAPESHIFTER);
+		assertEquals(board.pieceBitboards[Color.WHITE.ordinal()][shapeshifter.type.ordinal()] & (1L << 36), 1L << 36);
 		
 		//will have to manually test that the image changes
 	}
+
+	/*****************************/
+	/* Helper Function for tests */
+	/*****************************/
+
+	/**
+	 * Updates a ChessPiece's "Attack Tiles" and counts the ones in 1 direction
+	 * @param board		ChessBoard game is being played on
+	 * @param piece		ChessPiece to update "Attack Tiles" for
+	 * @param x_step	-1 for left, 1 for right, 0 for neither
+	 * @param y_step	-1 for down, 1 for up, 0 for neither
+	 * @return			Number of "Attack Tiles" in the given direction
+	 */
+	private int attacksToward(ChessBoard board, ChessPiece piece, int x_step, int y_step){
+		piece.moves.setAttackTiles(board, piece);
+		int count = 0;
+		for (Point tile : piece.moves.attackTiles){
+			int x_offset = tile.x - piece.position.x;
+			int y_offset = tile.y - piece.position.y;
+			if (Integer.signum(x_offset) == x_step && Integer.signum(y_offset) == y_step
+					&& (x_step == 0 || y_step == 0 || Math.abs(x_offset) == Math.abs(y_offset)))
+				count++;
+		}
+		return count;
+	}
 }
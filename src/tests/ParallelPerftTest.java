@@ -0,0 +1,57 @@
+package tests;
+
+import static org.junit.Assert.*;
+
+import org.junit.Test;
+
+import analysis.ParallelPerft;
+import analysis.Perft;
+import analysis.PerftCache;
+import main_components.ChessBoard;
+import piece_properties.MoveList;
+
+/**
+ * \brief
+ * Tests that parallel perft, with and without a shared cache, gives the reference counts
+ * @author Rodney Shaghoulian
+ */
+public class ParallelPerftTest {
+
+	/** Splits 2 plies across 4 threads, without a cache */
+	@Test
+	public void testParallelPerft() {
+		ParallelPerft perft = new ParallelPerft(4, 2, null);
+		for (boolean classicMode : new boolean[]{true, false}){
+			ChessBoard board = new ChessBoard(8, 8, classicMode);
+			long key = board.zobristKey;
+			assertEquals(perft.perft(board, 4), Perft.REFERENCE[classicMode ? 0 : 1][4]);
+			assertEquals(board.zobristKey, key);	// only read
+		}
+		perft.shutdown();
+	}
+
+	/** Shares a cache between threads, and between a parallel and a single-threaded count */
+	@Test
+	public void testSharedCache() {
+		/* Set up data */
+		PerftCache cache = new PerftCache(4);
+		ParallelPerft perft = new ParallelPerft(3, 3, cache);
+		ChessBoard board = new ChessBoard(8, 8, false);
+
+		/* Test counts */
+		assertEquals(perft.perft(board, 4), Perft.REFERENCE[1][4]);
+		assertEquals(perft.perft(board, 4), Perft.REFERENCE[1][4]);	// from the cache this time
+		assertEquals(new Perft(board, cache).perft(4), Perft.REFERENCE[1][4]);
+		assertTrue(cache.probe(board.zobristKey, 4) == Perft.REFERENCE[1][4]);
+		assertEquals(cache.probe(board.zobristKey, 5), -1);
+
+		/* Test divide */
+		MoveList list = new MoveList();
+		long nodes = 0;
+		for (long count : perft.divide(board, 4, list))
+			nodes += count;
+		assertEquals(list.size, 20);
+		assertEquals(nodes, Perft.REFERENCE[1][4]);
+		perft.shutdown();
+	}
+}
@@ -0,0 +1,64 @@
+package tests;
+
+import static org.junit.Assert.*;
+
+import org.junit.Test;
+
+import analysis.Perft;
+import main_components.ChessBoard;
+import piece_properties.MoveList;
+
+/**
+ * \brief
+ * Tests the move generator against the reference perft counts, in classic and custom mode
+ * @author Rodney Shaghoulian
+ */
+public class PerftTest {
+
+	/** Classic mode counts to depth 4 */
+	@Test
+	public void testClassicPerft() {
+		testPerft(true, 4);
+	}
+
+	/** Custom mode (HORIZON and CENTAUR) counts to depth 4 */
+	@Test
+	public void testCustomPerft() {
+		testPerft(false, 4);
+	}
+
+	/** The counts below each first move add up to the full count */
+	@Test
+	public void testDivide() {
+		/* Set up data */
+		Perft perft = new Perft(new ChessBoard(8, 8, false));
+		MoveList list = new MoveList();
+		long[] counts = perft.divide(3, list);
+
+		/* Test */
+		assertEquals(counts.length, 20);
+		long nodes = 0;
+		for (long count : counts)
+			nodes += count;
+		assertEquals(nodes, Perft.REFERENCE[1][3]);
+		assertEquals(Perft.squareName(12), "e2");
+	}
+
+	/*****************************/
+	/* Helper Function for tests */
+	/*****************************/
+
+	/**
+	 * Compares perft to the reference counts, and makes sure the ChessBoard is restored after counting
+	 * @param classicMode	Board mode
+	 * @param maxDepth		Deepest count to compare
+	 */
+	private void testPerft(boolean classicMode, int maxDepth){
+		ChessBoard board = new ChessBoard(8, 8, classicMode);
+		long key = board.zobristKey;
+		Perft perft = new Perft(board);
+		for (int depth = 1; depth <= maxDepth; depth++)
+			assertEquals(perft.perft(depth), Perft.REFERENCE[classicMode ? 0 : 1][depth]);
+		assertEquals(board.zobristKey, key);
+	}
+}
@@ -0,0 +1,41 @@
+package tests;
+
+import static org.junit.Assert.*;
+
+import java.awt.Point;
+
+import org.junit.Test;
+
+import main_components.*;
+import piece_properties.*;
+
+/**
+ * \brief
+ * Tests that ChessPiece images are shared, and that SHAPESHIFTERS and DECOYS are drawn as what they look like
+ * @author Rodney Shaghoulian
+ */
+public class PieceIconsTest {
+
+	/** Every lookup of the same image returns the same ImageIcon, loaded once */
+	@Test
+	public void testShared() {
+		ChessPiece knight = new ChessPiece(Type.KNIGHT, Color.WHITE, new Point(1, 0));
+		assertSame(PieceIcons.get(knight), PieceIcons.get(knight));
+		assertSame(PieceIcons.get(knight), PieceIcons.get(new ChessPiece(knight)));
+		assertNotSame(PieceIcons.get(knight), PieceIcons.get(Color.BLACK, Type.KNIGHT));
+		assertEquals(PieceIcons.get(knight).getIconWidth(), 75);
+	}
+
+	/** A SHAPESHIFTER looks like a QUEEN, and a disguised DECOY looks like its disguise */
+	@Test
+	public void testDisguises() {
+		ChessPiece shapeshifter = new ChessPiece(Type.SHAPESHIFTER, Color.BLACK, new Point(3, 7));
+		assertSame(PieceIcons.get(shapeshifter), PieceIcons.get(Color.BLACK, Type.QUEEN));
+
+		ChessPiece decoy = new ChessPiece(Type.DECOY, Color.WHITE, new Point(3, 0));
+		assertSame(PieceIcons.get(decoy), PieceIcons.get(Color.WHITE, Type.QUEEN));
+		decoy.disguiseType  = Type.PAWN;
+		decoy.disguiseColor = Color.BLACK;
+		assertSame(PieceIcons.get(decoy), PieceIcons.get(Color.BLACK, Type.PAWN));
+	}
+}
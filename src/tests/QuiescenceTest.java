@@ -0,0 +1,55 @@
+package tests;
+
+import static org.junit.Assert.*;
+
+import org.junit.Test;
+
+import analysis.Quiescence;
+import main_components.*;
+import piece_properties.*;
+
+/**
+ * \brief
+ * Tests that the capture-only search wins hanging ChessPieces, and declines captures that lose material
+ * @author Rodney Shaghoulian
+ */
+public class QuiescenceTest {
+
+	/** Nothing can be captured in the initial position, so the score is the static score */
+	@Test
+	public void testQuietPosition() {
+		ChessBoard board = new ChessBoard(8, 8, false);
+		Quiescence quiescence = new Quiescence(board);
+		assertEquals(quiescence.score(), Evaluation.evaluate(board));
+		assertEquals(quiescence.nodes, 1);
+	}
+
+	/** A WHITE PAWN can take a BLACK QUEEN for free */
+	@Test
+	public void testWinsHangingPiece() {
+		/* Set up data */
+		ChessBoard board = TestBoards.emptyBoardCornerKings();
+		TestBoards.place(board, Type.PAWN, Color.WHITE, 3, 3);
+		TestBoards.place(board, Type.QUEEN, Color.BLACK, 4, 4);
+		long key = board.zobristKey;
+
+		/* Test */
+		assertTrue(new Quiescence(board).score() > Evaluation.evaluate(board) + 800);
+		assertEquals(board.zobristKey, key);
+	}
+
+	/** A WHITE QUEEN could take a PAWN, but another PAWN defends it. The losing capture isn't even tried. */
+	@Test
+	public void testStandPat() {
+		/* Set up data */
+		ChessBoard board = TestBoards.emptyBoardCornerKings();
+		TestBoards.place(board, Type.QUEEN, Color.WHITE, 3, 0);
+		TestBoards.place(board, Type.PAWN, Color.BLACK, 3, 5);
+		TestBoards.place(board, Type.PAWN, Color.BLACK, 4, 6);
+		Quiescence quiescence = new Quiescence(board);
+
+		/* Test */
+		assertEquals(quiescence.score(), Evaluation.evaluate(board));
+		assertEquals(quiescence.nodes, 1);
+	}
+}
@@ -0,0 +1,115 @@
+package tests;
+
+import static org.junit.Assert.*;
+
+import java.awt.Point;
+import java.util.Random;
+
+import org.junit.Test;
+
+import analysis.Search;
+import analysis.TranspositionTable;
+import main_components.ChessBoard;
+import piece_properties.MoveList;
+import piece_properties.Type;
+
+/**
+ * \brief
+ * Tests that the alpha-beta search finds mates and wins material, in classic and custom mode
+ * @author Rodney Shaghoulian
+ */
+public class SearchTest {
+
+	/** BLACK to move finds "Fool's Mate" (QUEEN to h4) */
+	@Test
+	public void testMateInOne() {
+		/* Set up data */
+		ChessBoard board = new ChessBoard(8, 8, true);
+		move(board, 5, 1, 5, 2);
+		move(board, 4, 6, 4, 4);
+		move(board, 6, 1, 6, 3);
+		long key = board.zobristKey;
+
+		/* Test */
+		Search.Result result = new Search(board, new TranspositionTable(1)).search(4, Long.MAX_VALUE, Long.MAX_VALUE);
+		assertEquals(result.move, MoveList.encode(59, 31, 0));
+		assertEquals(result.score, Search.MATE - 1);
+		assertEquals(result.pv.length, 1);
+		assertEquals(board.zobristKey, key);	// ChessBoard restored
+	}
+
+	/** A CENTAUR takes a QUEEN left hanging, in custom mode */
+	@Test
+	public void testWinsMaterial() {
+		/* Set up data: move BLACK QUEEN where the WHITE CENTAUR on b1 can jump to it */
+		ChessBoard board = new ChessBoard(8, 8, false);
+		assertEquals(board.tile[0][1].type, Type.CENTAUR);
+		board.movePiece(board.tile[7][3], new Point(2, 3));
+		board.updateChessBoard();
+		board.updateTurn();	// WHITE to move again
+
+		/* Test */
+		Search.Result result = new Search(board, new TranspositionTable(1)).search(3, Long.MAX_VALUE, Long.MAX_VALUE);
+		assertEquals(MoveList.to(result.move), 26);
+		assertTrue(result.score > 500);
+		assertEquals(result.depth, 3);
+	}
+
+	/** A node limit stops the search, which still returns a legal move from a finished iteration */
+	@Test
+	public void testNodeLimit() {
+		/* Set up data */
+		ChessBoard board = new ChessBoard(8, 8, true);
+		MoveList legal = new MoveList();
+		board.generateLegalMoves(legal);
+
+		/* Test */
+		Search.Result result = new Search(board, new TranspositionTable(1)).search(Search.MAX_PLY, 20000, Long.MAX_VALUE);
+		assertTrue(result.depth >= 1 && result.depth < Search.MAX_PLY);
+		assertTrue(result.nodes < 20000 + 1024);
+		boolean found = false;
+		for (int i = 0; i < legal.size; i++)
+			found |= legal.get(i) == result.move;
+		assertTrue(found);
+	}
+
+	/** The node limit holds in positions full of captures, where most positions are searched by Quiescence */
+	@Test
+	public void testNodeLimitWithCaptures() {
+		Random random = new Random(1);
+		MoveList legal = new MoveList();
+		for (int game = 0; game < 6; game++){
+			/* Set up data: 16 random moves */
+			ChessBoard board = new ChessBoard(8, 8, game % 2 == 0);
+			for (int i = 0; i < 16; i++){
+				legal.clear();
+				board.generateLegalMoves(legal);
+				if (legal.size == 0)
+					break;
+				int move = legal.get(random.nextInt(legal.size));
+				board.makeMove(MoveList.from(move), MoveList.to(move));
+			}
+
+			/* Test */
+			Search.Result result = new Search(board, new TranspositionTable(1)).search(Search.MAX_PLY, 5000, Long.MAX_VALUE);
+			assertTrue(result.nodes < 5000 + 1024);
+		}
+	}
+
+	/*****************************/
+	/* Helper Function for tests */
+	/*****************************/
+
+	/**
+	 * Moves a ChessPiece and ends the turn
+	 * @param board		ChessBoard game is being played on
+	 * @param fromX		Column to move from
+	 * @param fromY		Row to move from
+	 * @param toX		Column to move to
+	 * @param toY		Row to move to
+	 */
+	private void move(ChessBoard board, int fromX, int fromY, int toX, int toY){
+		board.movePiece(board.tile[fromY][fromX], new Point(toX, toY));
+		board.updateChessBoard();
+	}
+}
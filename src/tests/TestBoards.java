@@ -0,0 +1,54 @@
+package tests;
+
+import java.awt.Point;
+
+import main_components.*;
+import piece_properties.*;
+
+/**
+ * \brief
+ * Sets up ChessBoards for tests that need only a few ChessPieces
+ * @author Rodney Shaghoulian
+ */
+public class TestBoards {
+
+	/**
+	 * Creates a ChessBoard with only the 2 KINGS on it, on their starting tiles
+	 * @return		The new ChessBoard, WHITE to move
+	 */
+	public static ChessBoard emptyBoard(){
+		ChessBoard board = new ChessBoard(8, 8, true);
+		for (int row = 0; row < board.rows; row++)
+			for (int column = 0; column < board.columns; column++)
+				if (board.tile[row][column] != null && board.tile[row][column].type != Type.KING)
+					board.tile[row][column] = null;
+		board.updateBitboards();
+		return board;
+	}
+
+	/**
+	 * Creates a ChessBoard with only the 2 KINGS on it, in the corners of the h column, out of the way of the other ChessPieces
+	 * @return		The new ChessBoard, WHITE to move
+	 */
+	public static ChessBoard emptyBoardCornerKings(){
+		ChessBoard board = emptyBoard();
+		board.movePiece(board.whiteKing, new Point(7, 0));
+		board.movePiece(board.blackKing, new Point(7, 7));
+		return board;
+	}
+
+	/**
+	 * Puts a new ChessPiece on a ChessBoard
+	 * @param board		ChessBoard to put the ChessPiece on
+	 * @param type		Type of the new ChessPiece
+	 * @param color		WHITE or BLACK
+	 * @param x			Column of the new ChessPiece
+	 * @param y			Row of the new ChessPiece
+	 * @return			The new ChessPiece
+	 */
+	public static ChessPiece place(ChessBoard board, Type type, Color color, int x, int y){
+		ChessPiece piece = new ChessPiece(type, color, new Point(x, y));
+		board.placePiece(piece);
+		return piece;
+	}
+}
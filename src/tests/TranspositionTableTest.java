@@ -0,0 +1,102 @@
+package tests;
+
+import static org.junit.Assert.*;
+
+import java.util.Random;
+
+import org.junit.Test;
+
+import analysis.TranspositionTable;
+import main_components.ChessBoard;
+import piece_properties.MoveList;
+
+/**
+ * \brief
+ * Tests storing, replacing, and sharing entries of a TranspositionTable
+ * @author Rodney Shaghoulian
+ */
+public class TranspositionTableTest {
+
+	/** Stores an entry for the starting position and reads every field back */
+	@Test
+	public void testStoreAndProbe() {
+		/* Set up data */
+		TranspositionTable table = new TranspositionTable(1);
+		long key = new ChessBoard(8, 8, true).zobristKey;
+		int move = MoveList.encode(12, 28, 0);
+		assertEquals(table.probe(key), 0);
+
+		/* Test entry */
+		table.store(key, move, -345, 7, TranspositionTable.LOWER);
+		long data = table.probe(key);
+		assertEquals(TranspositionTable.move(data), move);
+		assertEquals(TranspositionTable.score(data), -345);
+		assertEquals(TranspositionTable.depth(data), 7);
+		assertEquals(TranspositionTable.bound(data), TranspositionTable.LOWER);
+		assertEquals(table.probe(key ^ 1L << 40), 0);	// same bucket, different position
+
+		/* Test a result without a move keeps the known best move */
+		table.store(key, 0, 12, 8, TranspositionTable.EXACT);
+		assertEquals(TranspositionTable.move(table.probe(key)), move);
+	}
+
+	/** A shallow result doesn't push out a deep one from the same search, but does once a new search starts */
+	@Test
+	public void testReplacement() {
+		/* Set up data: 3 keys in the same bucket */
+		TranspositionTable table = new TranspositionTable(1);
+		long deep = 5, shallow = 5 | 1L << 40, other = 5 | 2L << 40;
+		table.store(deep, 0, 1, 10, TranspositionTable.EXACT);
+		table.store(shallow, 0, 2, 2, TranspositionTable.EXACT);
+
+		/* Test both fit */
+		assertEquals(TranspositionTable.score(table.probe(deep)), 1);
+		assertEquals(TranspositionTable.score(table.probe(shallow)), 2);
+
+		/* Test always-replace entry is replaced, depth-preferred entry stays */
+		table.store(other, 0, 3, 1, TranspositionTable.EXACT);
+		assertEquals(table.probe(shallow), 0);
+		assertEquals(TranspositionTable.score(table.probe(deep)), 1);
+
+		/* Test a new search can replace the deep entry */
+		table.newSearch();
+		table.store(shallow, 0, 2, 2, TranspositionTable.EXACT);
+		assertEquals(table.probe(deep), 0);
+		assertEquals(TranspositionTable.score(table.probe(shallow)), 2);
+	}
+
+	/** Many threads write a tiny table at once. Every entry read back must belong to the key it was read for. */
+	@Test
+	public void testConcurrentAccess() throws InterruptedException {
+		/* Set up data */
+		final TranspositionTable table = new TranspositionTable(0);	// a single bucket
+		final long[] keys = new long[16];
+		Random keyRandom = new Random(1);
+		for (int i = 0; i < keys.length; i++)
+			keys[i] = keyRandom.nextLong();
+		final boolean[] corrupted = new boolean[1];
+		Thread[] threads = new Thread[4];
+		for (int t = 0; t < threads.length; t++){
+			final long seed = t;
+			threads[t] = new Thread(){
+				public void run(){
+					Random random = new Random(seed);
+					for (int i = 0; i < 200000; i++){
+						long key = keys[random.nextInt(keys.length)];
+						table.store(key, (int) key & 0xFFFF, (short) (key >>> 16), random.nextInt(64), TranspositionTable.EXACT);
+						key = keys[random.nextInt(keys.length)];
+						long data = table.probe(key);
+						if (data != 0 && (TranspositionTable.move(data) != ((int) key & 0xFFFF) || TranspositionTable.score(data) != (short) (key >>> 16)))
+							corrupted[0] = true;
+					}
+				}
+			};
+			threads[t].start();
+		}
+		for (Thread thread : threads)
+			thread.join();
+
+		/* Test */
+		assertFalse(corrupted[0]);
+	}
+}
@@ -0,0 +1,107 @@
+package tests;
+
+import static org.junit.Assert.*;
+
+import java.awt.Point;
+
+import org.junit.Test;
+
+import main_components.ChessBoard;
+import main_components.ChessPiece;
+import piece_properties.Color;
+import piece_properties.Type;
+import piece_properties.Zobrist;
+
+/**
+ * \brief
+ * Tests that ChessBoard's Zobrist key is kept up to date by moves, captures, and undos
+ * @author Rodney Shaghoulian
+ */
+public class ZobristTest {
+
+	/** Every Color, Type, and square has its own key, including the special ChessPieces */
+	@Test
+	public void testKeysAreDistinct() {
+		java.util.HashSet<Long> keys = new java.util.HashSet<Long>();
+		for (Color color : new Color[]{Color.WHITE, Color.BLACK})
+			for (Type type : Type.values())
+				for (int square = 0; square < 64; square++)
+					assertTrue(keys.add(Zobrist.piece(color, type, square)));
+		assertTrue(keys.add(Zobrist.turn(Color.BLACK)));
+		assertEquals(Zobrist.turn(Color.WHITE), 0);
+	}
+
+	/** The same position reached by 2 move orders has the same key. Whose turn it is changes the key. */
+	@Test
+	public void testTranspositions() {
+		/* Set up data */
+		ChessBoard board1 = new ChessBoard(8, 8, true);
+		ChessBoard board2 = new ChessBoard(8, 8, true);
+		long startKey = board1.zobristKey;
+		assertEquals(board2.zobristKey, startKey);
+
+		/* Move both KNIGHTS, in opposite orders */
+		move(board1, board1.tile[0][1], 2, 2);
+		move(board1, board1.tile[7][1], 2, 5);
+		move(board1, board1.tile[0][6], 5, 2);
+		move(board2, board2.tile[0][6], 5, 2);
+		move(board2, board2.tile[7][1], 2, 5);
+		move(board2, board2.tile[0][1], 2, 2);
+
+		/* Test keys */
+		assertEquals(board1.zobristKey, board2.zobristKey);
+		assertNotEquals(board1.zobristKey, startKey);
+		board1.updateTurn();
+		assertNotEquals(board1.zobristKey, board2.zobristKey);
+		board1.updateTurn();
+		assertEquals(board1.zobristKey, board2.zobristKey);
+	}
+
+	/** A capture and its undo (as Command.undo() does it, and with unmakeMove()) restore the key */
+	@Test
+	public void testCaptureAndUndo() {
+		/* Set up data */
+		ChessBoard board = new ChessBoard(8, 8, true);
+		long startKey = board.zobristKey;
+		ChessPiece whiteQueen = board.tile[0][3];
+		ChessPiece blackPawn  = board.tile[6][3];
+
+		/* (Illegally) capture with movePiece(), then undo */
+		board.movePiece(whiteQueen, new Point(3, 6));
+		assertEquals(board.zobristKey, fullKey(board));
+		board.movePiece(whiteQueen, new Point(3, 0));
+		board.placePiece(new ChessPiece(blackPawn));
+		assertEquals(board.zobristKey, fullKey(board));
+
+		/* Capture in place with makeMove(), then unmakeMove() */
+		board.makeMove(3, 51);
+		assertEquals(board.zobristKey, fullKey(board));
+		board.unmakeMove();
+		assertEquals(board.zobristKey, startKey);
+	}
+
+	/*****************************/
+	/* Helper Function for tests */
+	/*****************************/
+
+	/**
+	 * Moves a ChessPiece and ends the turn
+	 * @param board		ChessBoard game is being played on
+	 * @param piece		ChessPiece to move
+	 * @param x			Column to move to
+	 * @param y			Row to move to
+	 */
+	private void move(ChessBoard board, ChessPiece piece, int x, int y){
+		board.movePiece(piece, new Point(x, y));
+		board.updateChessBoard();
+	}
+
+	/**
+	 * Computes a ChessBoard's key from scratch, using a copy of it
+	 * @param board		ChessBoard to compute the key of
+	 * @return			The key
+	 */
+	private long fullKey(ChessBoard board){
+		return new ChessBoard(board).zobristKey;
+	}
+}